@@ -0,0 +1,40 @@
+package com.frechsack.dev.common.fx.benchmark;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark fork. The benchmarks are run headless with Monocle, the platform is selected by the system properties
+ * of the jmh configuration in the build file.<br> The benchmarked Nodes are not part of a showing scene, so they can be laid out on the benchmark
+ * thread.
+ */
+final class HeadlessToolkit
+{
+    private static boolean started;
+
+    private HeadlessToolkit()
+    {
+    }
+
+    /**
+     * Starts the JavaFX toolkit, if it has not been started yet.
+     */
+    static synchronized void start()
+    {
+        if (started) return;
+        started = true;
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        try
+        {
+            if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("The JavaFX toolkit did not start.");
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The JavaFX toolkit did not start.", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.frechsack.dev.common.fx.benchmark;
+
+import com.frechsack.dev.common.fx.container.RatioPane;
+import javafx.geometry.Pos;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the layout of a {@link RatioPane} with a 16:9 ratio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatioPaneBenchmark
+{
+    private RatioPane ratioPane;
+    private int       resizeCounter;
+
+    @Setup
+    public void setUp()
+    {
+        HeadlessToolkit.start();
+        ratioPane = new RatioPane(new Region(), 16, 9, Pos.CENTER);
+        ratioPane.resize(1920, 1080);
+        ratioPane.layout();
+    }
+
+    /**
+     * Lays out the child after the size of the {@code RatioPane} has changed.
+     */
+    @Benchmark
+    public void layoutResized()
+    {
+        ratioPane.resize(1920 + (resizeCounter++ & 1), 1080);
+        ratioPane.layout();
+    }
+
+    /**
+     * Lays out the child while the size of the {@code RatioPane} stays the same.
+     */
+    @Benchmark
+    public void layoutUnchanged()
+    {
+        ratioPane.requestLayout();
+        ratioPane.layout();
+    }
+}
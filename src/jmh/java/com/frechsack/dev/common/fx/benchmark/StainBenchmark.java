@@ -0,0 +1,73 @@
+package com.frechsack.dev.common.fx.benchmark;
+
+import com.frechsack.dev.common.fx.stain.Stain;
+import com.frechsack.dev.common.fx.stain.StainColor;
+import com.frechsack.dev.common.fx.stain.StainTheme;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the color lookup of a {@link StainTheme} and the styling of a Node with {@link Stain#setColor}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StainBenchmark
+{
+    private static final StainColor[] COLORS = StainColor.values();
+
+    @Param({"DEFAULT", "LIGHT", "DARK"})
+    public StainTheme theme;
+
+    private Region node;
+    private int    colorIndex;
+
+    @Setup
+    public void setUp()
+    {
+        HeadlessToolkit.start();
+        node = new Region();
+        // The first lookup parses the style sheet of the theme.
+        theme.getColor(StainColor.TEXT);
+    }
+
+    @Benchmark
+    public void getColor(Blackhole blackhole)
+    {
+        for (StainColor color : COLORS) blackhole.consume(theme.getColor(color));
+    }
+
+    @Benchmark
+    public String setColor()
+    {
+        // The style of the Node is reset, because every call appends to it.
+        node.setStyle(null);
+        Stain.setColor(node, COLORS[colorIndex++ % COLORS.length], Color.CORNFLOWERBLUE);
+        return node.getStyle();
+    }
+
+    @Benchmark
+    public String setDefaultColor()
+    {
+        node.setStyle(null);
+        Stain.setColor(node, COLORS[colorIndex++ % COLORS.length], null);
+        return node.getStyle();
+    }
+}
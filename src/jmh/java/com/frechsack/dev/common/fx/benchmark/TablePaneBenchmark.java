@@ -0,0 +1,116 @@
+package com.frechsack.dev.common.fx.benchmark;
+
+import com.frechsack.dev.common.fx.container.SizeMode;
+import com.frechsack.dev.common.fx.container.TablePane;
+import com.frechsack.dev.common.fx.container.TablePaneColumn;
+import com.frechsack.dev.common.fx.container.TablePaneRow;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the layout and the preferred size calculation of a {@link TablePane}.<br> The children are placed in a square grid with one child per
+ * cell. The columns and rows use the same {@link SizeMode}, or all three modes in turn if MIXED is selected.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TablePaneBenchmark
+{
+    private static final double WIDTH  = 1920;
+    private static final double HEIGHT = 1080;
+
+    @Param({"10", "1000", "10000"})
+    public int    childCount;
+    @Param({"ABSOLUTE", "AUTO_SIZE", "RELATIVE", "MIXED"})
+    public String sizeMode;
+
+    private TablePane tablePane;
+    private Region[]  nodes;
+    private int       resizeCounter;
+    private int       changedNode;
+
+    @Setup
+    public void setUp()
+    {
+        HeadlessToolkit.start();
+        final int COLUMN_COUNT = (int) Math.ceil(Math.sqrt(childCount));
+        final int ROW_COUNT    = (childCount + COLUMN_COUNT - 1) / COLUMN_COUNT;
+        tablePane = new TablePane();
+        for (int i = 0; i < COLUMN_COUNT; i++) tablePane.addColumn(new TablePaneColumn(getSizeMode(i), getSize(getSizeMode(i), COLUMN_COUNT)));
+        for (int i = 0; i < ROW_COUNT; i++) tablePane.addRow(new TablePaneRow(getSizeMode(i), getSize(getSizeMode(i), ROW_COUNT)));
+        nodes = new Region[childCount];
+        for (int i = 0; i < childCount; i++)
+        {
+            nodes[i] = new Region();
+            nodes[i].setPrefSize(20 + i % 7, 10 + i % 5);
+            tablePane.add(nodes[i], i % COLUMN_COUNT, i / COLUMN_COUNT, 1, 1);
+        }
+        tablePane.resize(WIDTH, HEIGHT);
+        tablePane.layout();
+    }
+
+    private SizeMode getSizeMode(int index)
+    {
+        if (sizeMode.equals("MIXED")) return SizeMode.values()[index % SizeMode.values().length];
+        return SizeMode.valueOf(sizeMode);
+    }
+
+    private static double getSize(SizeMode sizeMode, int trackCount)
+    {
+        if (sizeMode == SizeMode.ABSOLUTE) return 30;
+        if (sizeMode == SizeMode.RELATIVE) return 1d / trackCount;
+        return 0;
+    }
+
+    /**
+     * Lays out all children after the size of the {@code TablePane} has changed.
+     */
+    @Benchmark
+    public void layoutResized()
+    {
+        tablePane.resize(WIDTH + (resizeCounter++ & 1), HEIGHT);
+        tablePane.layout();
+    }
+
+    /**
+     * Lays out the {@code TablePane} after the preferred width of one child has changed.
+     */
+    @Benchmark
+    public void layoutChildChanged()
+    {
+        Region node = nodes[changedNode];
+        node.setPrefWidth(node.getPrefWidth() == 20 ? 40 : 20);
+        changedNode = (changedNode + 1) % nodes.length;
+        tablePane.layout();
+    }
+
+    @Benchmark
+    public double computePrefWidth()
+    {
+        // A layout request clears the preferred size cache of the parent.
+        tablePane.requestLayout();
+        return tablePane.prefWidth(-1);
+    }
+
+    @Benchmark
+    public double computePrefHeight()
+    {
+        tablePane.requestLayout();
+        return tablePane.prefHeight(-1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.frechsack.dev.common.fx.benchmark;
+
+import com.frechsack.dev.common.fx.geometry.WriteableRectangle2D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the intersection and containment tests of {@link WriteableRectangle2D}. Each benchmark tests a fixed rectangle against 1024 random
+ * rectangles and points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteableRectangle2DBenchmark
+{
+    private static final int COUNT = 1024;
+
+    private WriteableRectangle2D   rectangle;
+    private WriteableRectangle2D[] rectangles;
+    private double[]               points;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        rectangle  = new WriteableRectangle2D(250, 250, 500, 500);
+        rectangles = new WriteableRectangle2D[COUNT];
+        points     = new double[COUNT * 2];
+        for (int i = 0; i < COUNT; i++)
+        {
+            rectangles[i]     = new WriteableRectangle2D(random.nextDouble() * 1000, random.nextDouble() * 1000, random.nextDouble() * 300,
+                                                         random.nextDouble() * 300);
+            points[i * 2]     = random.nextDouble() * 1000;
+            points[i * 2 + 1] = random.nextDouble() * 1000;
+        }
+    }
+
+    @Benchmark
+    public int intersects()
+    {
+        int count = 0;
+        for (WriteableRectangle2D r : rectangles) if (rectangle.intersects(r)) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int containsRectangle()
+    {
+        int count = 0;
+        for (WriteableRectangle2D r : rectangles) if (rectangle.contains(r)) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int containsPoint()
+    {
+        int count = 0;
+        for (int i = 0; i < COUNT; i++) if (rectangle.contains(points[i * 2], points[i * 2 + 1])) count++;
+        return count;
+    }
+}
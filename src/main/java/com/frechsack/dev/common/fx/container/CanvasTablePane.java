@@ -0,0 +1,616 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+
+/**
+ * A {@link CanvasTablePane} shows a read-only grid of numbers on a {@link Canvas}. There is no Node per cell: the values are stored in one array,
+ * the background, the grid lines and the formatted text of each cell are drawn directly. The memory of the grid only depends on the number of cells,
+ * the drawing costs only depend on the size of the viewport.<br> The rows are defined by a row count and one {@link TablePaneDefinition} that is
+ * shared by all rows, the columns are defined like the columns of a {@link TablePane}, the {@link SizeMode} of each definition is applied like in a
+ * {@code TablePane}. The content width of an {@link SizeMode#AUTO_SIZE} column is the widest text that has been drawn in it so far, the content
+ * height of the rows is the height of a line of text.<br> A changed value only redraws its own cell, if it is visible. All changes until the next
+ * pulse are drawn in one pass, without a layout of the parent. Scrolling, resizing or a change of the columns, the font or the colors redraws the
+ * viewport.<br> The values must be set on the JavaFX Application Thread. {@code NaN} is shown as an empty cell. If the number of columns changes,
+ * the values of the remaining columns are kept.
+ *
+ * @see TablePaneDefinition
+ * @see VirtualTablePane
+ */
+public class CanvasTablePane extends Region
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    // The number of rows the preferred height is calculated for.
+    private static final int                       PREF_ROW_COUNT     = 10;
+    // The space between the text and the border of a cell.
+    private static final double                    CELL_PADDING       = 3;
+    private final        IntegerProperty           rowCount           = new SimpleIntegerProperty(this, "rowCount", 0);
+    private final        DoubleProperty            scrollPosition     = new SimpleDoubleProperty(this, "scrollPosition", 0);
+    private final        List<TablePaneDefinition> columnList         = new ArrayList<>();
+    private              TablePaneDefinition       rowDefinition      = new TablePaneRow(SizeMode.AUTO_SIZE, 0);
+    private final        Canvas                    canvas             = new Canvas();
+    private final        ScrollBar                 scrollBar          = new ScrollBar();
+    // Measures the text of AUTO_SIZE columns and rows.
+    private final        Text                      measuringText      = new Text();
+    private              DoubleFunction<String>    formatter          = String::valueOf;
+    private              DoubleFunction<Paint>     backgroundFunction = value -> Color.WHITE;
+    private              Paint                     textFill           = Color.BLACK;
+    private              Paint                     gridLineFill       = Color.LIGHTGRAY;
+    private              Font                      font               = Font.getDefault();
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Layout state
+     *                                                                             *
+     ******************************************************************************/
+    // The values row by row. The value of a row and column is at index row * columnCount + column.
+    private       double[] values              = new double[0];
+    private       int      columnCount;
+    private       int      valueRowCount;
+    // The visible cells whose values have changed since the last pass.
+    private final BitSet   dirtyCells          = new BitSet();
+    private       boolean  drawRequested;
+    private       boolean  redrawRequested     = true;
+    private       double[] columnContentWidths = new double[0];
+    private       double   rowContentHeight    = -1;
+    private       double[] columnWidths;
+    private       double[] columnOffsets;
+    private       double[] drawnColumnOffsets;
+    private       double   rowHeight;
+    private       double   drawnPosition       = Double.NaN;
+    private       double   drawnRowHeight;
+    // The rows of the last pass, the last row is exclusive.
+    private       int      drawnFirstRow;
+    private       int      drawnLastRow;
+    private       long     drawnCellCount;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code CanvasTablePane} without rows and columns.
+     */
+    public CanvasTablePane()
+    {
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.valueProperty().bindBidirectional(scrollPosition);
+        getChildren().addAll(canvas, scrollBar);
+
+        rowCount.addListener(observable -> requestLayout());
+        scrollPosition.addListener(observable -> requestLayout());
+        addEventHandler(ScrollEvent.SCROLL, event ->
+        {
+            setScrollPosition(getScrollPosition() - event.getDeltaY());
+            event.consume();
+        });
+    }
+
+    /**
+     * Creates a new instance of {@code CanvasTablePane}.
+     *
+     * @param rowCount The number of rows.
+     * @param columns  The columns.
+     */
+    public CanvasTablePane(int rowCount, TablePaneDefinition... columns)
+    {
+        this();
+        columnList.addAll(Arrays.asList(columns));
+        setRowCount(rowCount);
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a column to this {@link CanvasTablePane}.
+     *
+     * @param definition The {@code TablePaneDefinition}
+     * @return An instance of this {@code CanvasTablePane}.
+     */
+    public CanvasTablePane addColumn(TablePaneDefinition definition)
+    {
+        columnList.add(definition);
+        return this;
+    }
+
+    /**
+     * Returns a list with instances of {@link TablePaneDefinition} who act as a column. Like a {@link TablePane}, the layout is not updated
+     * automatically if the list or a definition is modified.
+     *
+     * @return A list with instances of {@link TablePaneDefinition}.
+     */
+    public List<TablePaneDefinition> getColumnList()
+    {
+        return columnList;
+    }
+
+    /**
+     * Returns the {@link TablePaneDefinition} that is shared by all rows.
+     *
+     * @return The {@code TablePaneDefinition}.
+     */
+    public TablePaneDefinition getRowDefinition()
+    {
+        return rowDefinition;
+    }
+
+    /**
+     * Sets the {@link TablePaneDefinition} that is shared by all rows. A {@link SizeMode#RELATIVE} row takes its relative amount of the viewport
+     * height.
+     *
+     * @param rowDefinition The {@code TablePaneDefinition}.
+     */
+    public void setRowDefinition(TablePaneDefinition rowDefinition)
+    {
+        this.rowDefinition = Objects.requireNonNull(rowDefinition);
+        requestLayout();
+    }
+
+    public int getRowCount()
+    {
+        return rowCount.get();
+    }
+
+    public IntegerProperty rowCountProperty()
+    {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount)
+    {
+        if (rowCount < 0) throw new IllegalArgumentException("The row count must not be negative.");
+        this.rowCount.set(rowCount);
+    }
+
+    /**
+     * Returns the vertical scroll position in pixels, the distance between the top of the first row and the top of the viewport.
+     *
+     * @return The scroll position.
+     */
+    public double getScrollPosition()
+    {
+        return scrollPosition.get();
+    }
+
+    public DoubleProperty scrollPositionProperty()
+    {
+        return scrollPosition;
+    }
+
+    public void setScrollPosition(double scrollPosition)
+    {
+        this.scrollPosition.set(scrollPosition);
+    }
+
+    /**
+     * Scrolls to a row, so that the row is shown at the top of the viewport. The height of the rows of the last layout pass is used.
+     *
+     * @param rowIndex The row index.
+     */
+    public void scrollTo(int rowIndex)
+    {
+        setScrollPosition(Math.max(0, rowIndex) * rowHeight);
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param rowIndex    The row index.
+     * @param columnIndex The column index.
+     * @return The value, {@code NaN} if the cell is empty.
+     * @throws IndexOutOfBoundsException If there is no such cell.
+     */
+    public double getValue(int rowIndex, int columnIndex)
+    {
+        return values[checkCell(rowIndex, columnIndex)];
+    }
+
+    /**
+     * Sets the value of a cell. If the cell is visible, only the cell is drawn again in the next pulse.
+     *
+     * @param rowIndex    The row index.
+     * @param columnIndex The column index.
+     * @param value       The value, {@code NaN} for an empty cell.
+     * @throws IndexOutOfBoundsException If there is no such cell.
+     */
+    public void setValue(int rowIndex, int columnIndex, double value)
+    {
+        final int INDEX = checkCell(rowIndex, columnIndex);
+        if (Double.compare(values[INDEX], value) == 0) return;
+        values[INDEX] = value;
+        // A cell outside of the viewport is drawn when it is scrolled into it.
+        if (rowIndex < drawnFirstRow || rowIndex >= drawnLastRow) return;
+        dirtyCells.set(INDEX);
+        requestDraw();
+    }
+
+    /**
+     * Returns the function that formats the value of a cell.
+     *
+     * @return The formatter.
+     */
+    public DoubleFunction<String> getFormatter()
+    {
+        return formatter;
+    }
+
+    /**
+     * Sets the function that formats the value of a cell. All cells are drawn again.
+     *
+     * @param formatter The formatter.
+     */
+    public void setFormatter(DoubleFunction<String> formatter)
+    {
+        this.formatter = Objects.requireNonNull(formatter);
+        requestRedraw();
+    }
+
+    /**
+     * Returns the function that returns the background of a cell for its value.
+     *
+     * @return The background function.
+     */
+    public DoubleFunction<Paint> getBackgroundFunction()
+    {
+        return backgroundFunction;
+    }
+
+    /**
+     * Sets the function that returns the background of a cell for its value, for example to highlight negative values. All cells are drawn again.
+     *
+     * @param backgroundFunction The background function.
+     */
+    public void setBackgroundFunction(DoubleFunction<Paint> backgroundFunction)
+    {
+        this.backgroundFunction = Objects.requireNonNull(backgroundFunction);
+        requestRedraw();
+    }
+
+    public Paint getTextFill()
+    {
+        return textFill;
+    }
+
+    public void setTextFill(Paint textFill)
+    {
+        this.textFill = Objects.requireNonNull(textFill);
+        requestRedraw();
+    }
+
+    public Paint getGridLineFill()
+    {
+        return gridLineFill;
+    }
+
+    public void setGridLineFill(Paint gridLineFill)
+    {
+        this.gridLineFill = Objects.requireNonNull(gridLineFill);
+        requestRedraw();
+    }
+
+    public Font getFont()
+    {
+        return font;
+    }
+
+    /**
+     * Sets the font of the text. The content sizes are measured again.
+     *
+     * @param font The font.
+     */
+    public void setFont(Font font)
+    {
+        this.font        = Objects.requireNonNull(font);
+        rowContentHeight = -1;
+        Arrays.fill(columnContentWidths, 0);
+        requestLayout();
+    }
+
+    /**
+     * Returns how often a cell has been drawn since the creation of this {@code CanvasTablePane}.
+     *
+     * @return The number of drawn cells.
+     */
+    public long getDrawnCellCount()
+    {
+        return drawnCellCount;
+    }
+
+    @Override
+    public void requestLayout()
+    {
+        redrawRequested = true;
+        super.requestLayout();
+    }
+
+    /**
+     * Draws the dirty cells in the next pulse. Only this {@code CanvasTablePane} is laid out, its parent is not.
+     */
+    private void requestDraw()
+    {
+        if (drawRequested) return;
+        drawRequested = true;
+        setNeedsLayout(true);
+    }
+
+    private void requestRedraw()
+    {
+        redrawRequested = true;
+        requestDraw();
+    }
+
+    private int checkCell(int rowIndex, int columnIndex)
+    {
+        synchronizeValues();
+        if (rowIndex < 0 || rowIndex >= valueRowCount || columnIndex < 0 || columnIndex >= columnCount)
+            throw new IndexOutOfBoundsException("There is no cell in row " + rowIndex + " and column " + columnIndex + ".");
+        return rowIndex * columnCount + columnIndex;
+    }
+
+    /**
+     * Adapts the values to the row and column count. The values of the remaining cells are kept, new cells are empty.
+     */
+    private void synchronizeValues()
+    {
+        final int COLUMN_COUNT = columnList.size();
+        final int ROW_COUNT    = getRowCount();
+        if (COLUMN_COUNT == columnCount && ROW_COUNT == valueRowCount) return;
+        double[] newValues = new double[ROW_COUNT * COLUMN_COUNT];
+        Arrays.fill(newValues, Double.NaN);
+        final int COPIED_COLUMNS = Math.min(columnCount, COLUMN_COUNT);
+        for (int row = 0; row < Math.min(valueRowCount, ROW_COUNT); row++)
+            System.arraycopy(values, row * columnCount, newValues, row * COLUMN_COUNT, COPIED_COLUMNS);
+        if (COLUMN_COUNT != columnCount) columnContentWidths = Arrays.copyOf(columnContentWidths, COLUMN_COUNT);
+        values          = newValues;
+        columnCount     = COLUMN_COUNT;
+        valueRowCount   = ROW_COUNT;
+        redrawRequested = true;
+        dirtyCells.clear();
+    }
+
+    /* ******************************************************************************
+     *                                                                             *
+     * Layout Calculation
+     *                                                                             *
+     ******************************************************************************/
+
+    @Override
+    protected void layoutChildren()
+    {
+        drawRequested = false;
+        synchronizeValues();
+        Insets insets         = getInsets();
+        double viewportHeight = Math.max(0, getHeight() - insets.getTop() - insets.getBottom());
+        int    rowCount       = getRowCount();
+
+        // Rows
+        rowHeight = calculateRowHeight(viewportHeight);
+        double maxPosition = Math.max(0, rowCount * rowHeight - viewportHeight);
+        double position    = Math.min(Math.max(getScrollPosition(), 0), maxPosition);
+        int    firstRow    = rowHeight > 0 ? Math.min(rowCount, (int) (position / rowHeight)) : 0;
+        int    lastRow     = rowHeight > 0 ? Math.min(rowCount, (int) Math.ceil((position + viewportHeight) / rowHeight)) : 0;
+
+        // Scroll bar
+        double  contentHeight    = rowCount * rowHeight;
+        boolean scrollBarVisible = contentHeight > viewportHeight;
+        double  scrollBarWidth   = scrollBarVisible ? snapSizeX(scrollBar.prefWidth(-1)) : 0;
+        scrollBar.setVisible(scrollBarVisible);
+        scrollBar.setMax(Math.max(0, contentHeight - viewportHeight));
+        scrollBar.setVisibleAmount(viewportHeight);
+        scrollBar.setUnitIncrement(rowHeight);
+        scrollBar.setBlockIncrement(viewportHeight);
+        scrollBar.resizeRelocate(getWidth() - insets.getRight() - scrollBarWidth, insets.getTop(), scrollBarWidth, viewportHeight);
+        if (position != getScrollPosition()) setScrollPosition(position);
+
+        // The text of the dirty cells can widen an AUTO_SIZE column, then every cell moves.
+        boolean redraw = redrawRequested || firstRow != drawnFirstRow || lastRow != drawnLastRow || position != drawnPosition ||
+                         rowHeight != drawnRowHeight;
+        if (redraw) measureRows(firstRow, lastRow);
+        else if (measureDirtyCells()) redraw = true;
+
+        // Columns
+        double viewportWidth = Math.max(0, getWidth() - insets.getLeft() - insets.getRight() - scrollBarWidth);
+        columnWidths  = TableLayoutSolver.solve(columnList, columnContentWidths, viewportWidth, columnWidths);
+        columnOffsets = TableLayoutSolver.calculateOffsets(columnWidths, 0, columnOffsets);
+        for (int i = 0; i < columnOffsets.length; i++) columnOffsets[i] = snapPositionX(columnOffsets[i]);
+        if (!Arrays.equals(columnOffsets, drawnColumnOffsets)) redraw = true;
+
+        // Canvas, a resized canvas is cleared.
+        canvas.relocate(insets.getLeft(), insets.getTop());
+        if (canvas.getWidth() != viewportWidth || canvas.getHeight() != viewportHeight)
+        {
+            canvas.setWidth(viewportWidth);
+            canvas.setHeight(viewportHeight);
+            redraw = true;
+        }
+        drawnFirstRow  = firstRow;
+        drawnLastRow   = lastRow;
+        drawnPosition  = position;
+        drawnRowHeight = rowHeight;
+        if (redraw) drawViewport();
+        else drawDirtyCells();
+        drawnColumnOffsets = copyOf(columnOffsets, drawnColumnOffsets);
+        redrawRequested    = false;
+        dirtyCells.clear();
+    }
+
+    /**
+     * Draws every visible cell.
+     */
+    private void drawViewport()
+    {
+        GraphicsContext graphics = prepareGraphics();
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int row = drawnFirstRow; row < drawnLastRow; row++)
+            for (int column = 0; column < columnCount; column++) drawCell(graphics, row, column);
+    }
+
+    /**
+     * Draws the visible cells whose values have changed.
+     */
+    private void drawDirtyCells()
+    {
+        if (dirtyCells.isEmpty()) return;
+        GraphicsContext graphics = prepareGraphics();
+        for (int index = dirtyCells.nextSetBit(0); index >= 0; index = dirtyCells.nextSetBit(index + 1))
+        {
+            int row = index / columnCount;
+            if (row >= drawnFirstRow && row < drawnLastRow) drawCell(graphics, row, index % columnCount);
+        }
+    }
+
+    private GraphicsContext prepareGraphics()
+    {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.setFont(font);
+        graphics.setTextAlign(TextAlignment.RIGHT);
+        graphics.setTextBaseline(VPos.CENTER);
+        graphics.setLineWidth(1);
+        return graphics;
+    }
+
+    /**
+     * Draws the background, the grid lines and the text of a cell. The cell only draws inside of its own bounds, so it can be drawn without its
+     * neighbours.
+     *
+     * @param graphics The {@code GraphicsContext} of the canvas.
+     * @param row      The row index.
+     * @param column   The column index.
+     */
+    private void drawCell(GraphicsContext graphics, int row, int column)
+    {
+        final double VALUE  = values[row * columnCount + column];
+        final double X      = columnOffsets[column];
+        final double WIDTH  = columnOffsets[column + 1] - X;
+        final double Y      = snapPositionY(row * rowHeight - drawnPosition);
+        final double HEIGHT = snapPositionY((row + 1) * rowHeight - drawnPosition) - Y;
+        if (WIDTH <= 0 || HEIGHT <= 0) return;
+        drawnCellCount++;
+        graphics.setFill(backgroundFunction.apply(VALUE));
+        graphics.fillRect(X, Y, WIDTH, HEIGHT);
+        // The right and bottom grid line are part of the cell.
+        graphics.setStroke(gridLineFill);
+        graphics.strokeLine(X + WIDTH - 0.5, Y, X + WIDTH - 0.5, Y + HEIGHT);
+        graphics.strokeLine(X, Y + HEIGHT - 0.5, X + WIDTH, Y + HEIGHT - 0.5);
+        if (Double.isNaN(VALUE) || WIDTH <= 2 * CELL_PADDING) return;
+        graphics.setFill(textFill);
+        graphics.fillText(formatter.apply(VALUE), X + WIDTH - CELL_PADDING, Y + HEIGHT / 2, WIDTH - 2 * CELL_PADDING);
+    }
+
+    /**
+     * Measures the text of the given rows for the {@link SizeMode#AUTO_SIZE} columns.
+     *
+     * @param firstRow The first row.
+     * @param lastRow  The end of the range, exclusive.
+     */
+    private void measureRows(int firstRow, int lastRow)
+    {
+        for (int column = 0; column < columnCount; column++)
+        {
+            if (!columnList.get(column).isAutoSize()) continue;
+            for (int row = firstRow; row < lastRow; row++) measureCell(row, column);
+        }
+    }
+
+    /**
+     * Measures the text of the dirty cells for the {@link SizeMode#AUTO_SIZE} columns.
+     *
+     * @return True if a column has become wider.
+     */
+    private boolean measureDirtyCells()
+    {
+        boolean changed = false;
+        for (int index = dirtyCells.nextSetBit(0); index >= 0; index = dirtyCells.nextSetBit(index + 1))
+        {
+            int column = index % columnCount;
+            if (columnList.get(column).isAutoSize() && measureCell(index / columnCount, column)) changed = true;
+        }
+        return changed;
+    }
+
+    private boolean measureCell(int row, int column)
+    {
+        final double VALUE = values[row * columnCount + column];
+        if (Double.isNaN(VALUE)) return false;
+        final double WIDTH = measureText(formatter.apply(VALUE)).getWidth() + 2 * CELL_PADDING;
+        if (WIDTH <= columnContentWidths[column]) return false;
+        columnContentWidths[column] = WIDTH;
+        return true;
+    }
+
+    private Bounds measureText(String text)
+    {
+        measuringText.setFont(font);
+        measuringText.setText(text);
+        return measuringText.getLayoutBounds();
+    }
+
+    /**
+     * Calculates the height of all rows from the row definition.
+     *
+     * @param viewportHeight The height of the viewport.
+     * @return The row height.
+     */
+    private double calculateRowHeight(double viewportHeight)
+    {
+        if (rowContentHeight < 0) rowContentHeight = Math.ceil(measureText("0").getHeight() + 2 * CELL_PADDING);
+        double height;
+        if (rowDefinition.isAbsolute()) height = rowDefinition.getSize();
+        else if (rowDefinition.isRelative()) height = viewportHeight * rowDefinition.getSize();
+        else
+        {
+            height = rowContentHeight + rowDefinition.getSize();
+            if (rowDefinition.isMaxSizeSet() && rowDefinition.getMaxSize() < height) height = rowDefinition.getMaxSize();
+        }
+        if (rowDefinition.isMinSizeSet() && rowDefinition.getMinSize() > height) height = rowDefinition.getMinSize();
+        return Math.max(0, height);
+    }
+
+    private static double[] copyOf(double[] source, double[] target)
+    {
+        if (target == null || target.length != source.length) return source.clone();
+        System.arraycopy(source, 0, target, 0, source.length);
+        return target;
+    }
+
+    @Override
+    protected double computePrefWidth(double height)
+    {
+        synchronizeValues();
+        return getInsets().getLeft() + getInsets().getRight() + TableLayoutSolver.computePrefSize(columnList, columnContentWidths) +
+               scrollBar.prefWidth(-1);
+    }
+
+    @Override
+    protected double computePrefHeight(double width)
+    {
+        return getInsets().getTop() + getInsets().getBottom() + calculateRowHeight(0) * Math.min(getRowCount(), PREF_ROW_COUNT);
+    }
+}
@@ -20,6 +20,12 @@ public class RatioPane extends Pane
     private final IntegerProperty ratioY = new SimpleIntegerProperty(this, "ratioY", 0);
     private final ObjectProperty<Pos> anchor = new SimpleObjectProperty<>(this, "anchor", Pos.CENTER);
     private final InvalidationListener propertyListener = e -> layoutChildren();
+    // The child and the bounds that have been applied to it by the last layout pass.
+    private Node   layoutNode;
+    private double layoutX;
+    private double layoutY;
+    private double layoutWidth;
+    private double layoutHeight;
 
     /**
      * Creates a new instance of {@link RatioPane}.
@@ -121,11 +127,36 @@ public class RatioPane extends Pane
 
     @Override
     protected void layoutChildren()
+    {
+        RatioPaneLayoutEvent event = new RatioPaneLayoutEvent();
+        event.begin();
+        boolean relocated = layoutChild();
+        if (event.shouldCommit())
+        {
+            event.paneId         = getId();
+            event.childCount     = getChildren().size();
+            event.nodesRelocated = relocated ? 1 : 0;
+            event.commit();
+        }
+    }
+
+    /**
+     * Lays out the first child.
+     *
+     * @return True if the child has been resized or relocated.
+     */
+    private boolean layoutChild()
     {
         // Children check
-        if (getChildren().isEmpty()) return;
+        if (getChildren().isEmpty()) return false;
 
         Node node   = getChildren().get(0);
+        // Unmanaged and invisible children are not laid out.
+        if (!node.isManaged() || !node.isVisible())
+        {
+            layoutNode = null;
+            return false;
+        }
         int  ratioX = this.ratioX.get();
         int  ratioY = this.ratioY.get();
         Pos  anchor = this.anchor.get();
@@ -136,12 +167,11 @@ public class RatioPane extends Pane
         // Quick calculation if one ratio is less or equal to zero
         if (ratioX <= 0 || ratioY <= 0)
         {
-            node.resizeRelocate(getInsets().getLeft(),
-                                getInsets().getTop(),
-                                getWidth() - getInsets().getRight() - getInsets().getLeft(),
-                                getHeight() - getInsets().getTop() - getInsets().getBottom());
-
-            return;
+            return applyBounds(node,
+                               getInsets().getLeft(),
+                               getInsets().getTop(),
+                               getWidth() - getInsets().getRight() - getInsets().getLeft(),
+                               getHeight() - getInsets().getTop() - getInsets().getBottom());
         }
 
         // Calculate size
@@ -166,8 +196,6 @@ public class RatioPane extends Pane
             width  = getWidth() - getInsets().getRight() - getInsets().getLeft();
             height = getHeight() - getInsets().getTop() - getInsets().getBottom();
         }
-        node.resize(width, height);
-
         // Calculate position
         double x;
         double y;
@@ -183,6 +211,30 @@ public class RatioPane extends Pane
         else if (anchor.getVpos() == VPos.BOTTOM)
             y = getHeight() - getInsets().getBottom() - height;
         else y = getHeight() / 2 - height / 2;
+        return applyBounds(node, x, y, width, height);
+    }
+
+    /**
+     * Resizes and relocates the child, if the bounds differ from the bounds of the last layout pass. Resizing a child with unchanged bounds would lay
+     * out its own children again.
+     *
+     * @param node   The child.
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     * @return True if the bounds have changed.
+     */
+    private boolean applyBounds(Node node, double x, double y, double width, double height)
+    {
+        if (node == layoutNode && x == layoutX && y == layoutY && width == layoutWidth && height == layoutHeight) return false;
+        layoutNode   = node;
+        layoutX      = x;
+        layoutY      = y;
+        layoutWidth  = width;
+        layoutHeight = height;
+        node.resize(width, height);
         node.relocate(x, y);
+        return true;
     }
 }
@@ -0,0 +1,30 @@
+package com.frechsack.dev.common.fx.container;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@link RatioPaneLayoutEvent} is a JDK Flight Recorder event that records a layout pass of a {@link RatioPane}. The event is disabled by default.
+ *
+ * @see RatioPane
+ * @see TablePaneLayoutEvent
+ */
+@Name("com.frechsack.dev.common.fx.RatioPaneLayout")
+@Label("RatioPane Layout")
+@Description("A layout pass of a RatioPane")
+@Category({"JavaFX", "Layout"})
+@Enabled(false)
+final class RatioPaneLayoutEvent extends Event
+{
+    @Label("Pane Id")
+    String paneId;
+    @Label("Child Count")
+    int    childCount;
+    @Label("Nodes Relocated")
+    @Description("The number of children that have been resized or relocated")
+    long   nodesRelocated;
+}
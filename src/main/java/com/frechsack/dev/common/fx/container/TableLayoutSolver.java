@@ -0,0 +1,241 @@
+package com.frechsack.dev.common.fx.container;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link TableLayoutSolver} calculates the sizes and offsets of the columns or rows of a {@link TablePane}.<br> The solver does not depend on a
+ * JavaFX toolkit. It works on {@link TablePaneDefinition}s and the content size of each track, which is the largest preferred size of the Nodes that
+ * are placed in the track with a span of one. All methods are static and free of side effects, except for the passed output arrays, so a solver can
+ * be used on any thread.<br> The sizes are calculated in three steps:<br> {@link SizeMode#ABSOLUTE} tracks take their fix size.<br> {@link
+ * SizeMode#AUTO_SIZE} tracks take their content size plus their additional size.<br> {@link SizeMode#RELATIVE} tracks take their relative amount of
+ * the remaining space.<br> Each step is limited by the remaining space, a minimum size is always applied.
+ *
+ * @see TablePane
+ * @see TablePaneDefinition
+ * @see SizeMode
+ */
+public final class TableLayoutSolver
+{
+    private TableLayoutSolver()
+    {
+    }
+
+    /**
+     * Calculates the size of each track.
+     *
+     * @param definitions   The definitions of the tracks.
+     * @param contentSizes  The content size of each track. Only the values of {@link SizeMode#AUTO_SIZE} tracks are read.
+     * @param availableSize The space that can be distributed.
+     * @param sizes         An array that is reused for the result, if it has the right length. May be null.
+     * @return The size of each track.
+     */
+    public static double[] solve(List<? extends TablePaneDefinition> definitions, double[] contentSizes, double availableSize, double[] sizes)
+    {
+        final int TRACK_COUNT = definitions.size();
+        // Check if arrays should be created again - if it already exists fill it with zero too avoid wrong calc.
+        if (sizes == null || sizes.length != TRACK_COUNT) sizes = new double[TRACK_COUNT];
+        else Arrays.fill(sizes, 0);
+
+        TablePaneDefinition definition;
+        double              remainingSize     = availableSize;
+        double              preferredSize;
+        int                 calculatedCounter = 0;
+        // Calculate absolute.
+        for (int i = 0; i < TRACK_COUNT; i++)
+        {
+            definition = definitions.get(i);
+            // Check if absolute - else continue
+            if (!definition.isAbsolute()) continue;
+
+            preferredSize = definition.getSize();
+
+            // The max size is ignored in an absolute environment.
+            // Check if the size must be wrapped to fit into the remaining space.
+            // That is only the case if a min size is not set.
+            if (preferredSize > remainingSize) preferredSize = remainingSize;
+            if (definition.isMinSizeSet() && definition.getMinSize() > preferredSize) preferredSize = definition.getMinSize();
+            sizes[i] = preferredSize;
+            remainingSize -= preferredSize;
+            calculatedCounter++;
+            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
+        }
+        // Check if anything is calculated
+        if (calculatedCounter == TRACK_COUNT) return sizes;
+
+        // Calculate auto size.
+        for (int i = 0; i < TRACK_COUNT; i++)
+        {
+            definition = definitions.get(i);
+            // Check if auto size - else continue
+            if (!definition.isAutoSize()) continue;
+            // Add the additional size
+            preferredSize = contentSizes[i] + definition.getSize();
+
+            // Check if a max size is set
+            if (definition.isMaxSizeSet() && definition.getMaxSize() < preferredSize) preferredSize = definition.getMaxSize();
+            // Check if a min size is set
+            if (preferredSize > remainingSize) preferredSize = remainingSize;
+            if (definition.isMinSizeSet() && definition.getMinSize() > preferredSize) preferredSize = definition.getMinSize();
+            sizes[i] = preferredSize;
+            remainingSize -= preferredSize;
+            calculatedCounter++;
+        }
+        // Check if anything is calculated
+        if (calculatedCounter == TRACK_COUNT) return sizes;
+        distributeRelative(definitions, remainingSize, sizes);
+        return sizes;
+    }
+
+    /**
+     * Calculates the sizes of the {@link SizeMode#RELATIVE} tracks again, the sizes of all other tracks are kept.<br> This is only valid if the
+     * other sizes have been calculated by {@link #solve(List, double[], double, double[])} with the same definitions and content sizes, and if
+     * neither that call nor this one had less space than {@link #computeFixedSize(List, double[])} available. Then the other tracks are not limited
+     * by the available space and only the relative tracks depend on it.
+     *
+     * @param definitions   The definitions of the tracks.
+     * @param fixedSize     The fixed size of the tracks.
+     * @param availableSize The space that can be distributed.
+     * @param sizes         The size of each track, the sizes of the relative tracks are replaced.
+     */
+    public static void redistribute(List<? extends TablePaneDefinition> definitions, double fixedSize, double availableSize, double[] sizes)
+    {
+        distributeRelative(definitions, availableSize - fixedSize, sizes);
+    }
+
+    private static void distributeRelative(List<? extends TablePaneDefinition> definitions, double remainingSize, double[] sizes)
+    {
+        TablePaneDefinition definition;
+        double              preferredSize;
+        // Calculate relative.
+        for (int i = 0; i < sizes.length; i++)
+        {
+            definition = definitions.get(i);
+            // Check if relative
+            if (!definition.isRelative()) continue;
+
+            preferredSize = remainingSize * definition.getSize();
+
+            // Check if the size must be wrapped to fit into the remaining space.
+            // That is only the case if a min size is not set.
+            if (definition.isMaxSizeSet() && definition.getMaxSize() < preferredSize) preferredSize = definition.getMaxSize();
+            if (preferredSize > remainingSize) preferredSize = remainingSize;
+            if (definition.isMinSizeSet() && definition.getMinSize() > preferredSize) preferredSize = definition.getMinSize();
+
+            sizes[i] = preferredSize;
+            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
+        }
+    }
+
+    /**
+     * Calculates the space the {@link SizeMode#ABSOLUTE} and {@link SizeMode#AUTO_SIZE} tracks take, if they are not limited by the available
+     * space.
+     *
+     * @param definitions  The definitions of the tracks.
+     * @param contentSizes The content size of each track.
+     * @return The fixed size.
+     */
+    public static double computeFixedSize(List<? extends TablePaneDefinition> definitions, double[] contentSizes)
+    {
+        TablePaneDefinition definition;
+        double              size = 0;
+        for (int i = 0; i < definitions.size(); i++)
+        {
+            definition = definitions.get(i);
+            if (definition.isRelative()) continue;
+            if (definition.isAbsolute())
+                size += definition.isMinSizeSet() ? Math.max(definition.getSize(), definition.getMinSize()) : definition.getSize();
+            else size += computePrefSize(definition, contentSizes[i]);
+        }
+        return size;
+    }
+
+    /**
+     * Calculates the offset of each track, which are the prefix sums of the track sizes.
+     *
+     * @param sizes   The size of each track.
+     * @param origin  The offset of the first track.
+     * @param offsets An array that is reused for the result, if it has the right length. May be null.
+     * @return The offsets, with a length of the track count plus one. The offset at index i is the start of track i, the last offset is the end of
+     *         the last track.
+     */
+    public static double[] calculateOffsets(double[] sizes, double origin, double[] offsets)
+    {
+        if (offsets == null || offsets.length != sizes.length + 1) offsets = new double[sizes.length + 1];
+        offsets[0] = origin;
+        for (int i = 0; i < sizes.length; i++) offsets[i + 1] = offsets[i] + sizes[i];
+        return offsets;
+    }
+
+    /**
+     * Calculates the preferred size of all tracks. {@link SizeMode#ABSOLUTE} tracks take their fix size, all other tracks take their content size
+     * plus their additional size, limited by their minimum and maximum size.
+     *
+     * @param definitions  The definitions of the tracks.
+     * @param contentSizes The content size of each track.
+     * @return The sum of the preferred track sizes.
+     */
+    public static double computePrefSize(List<? extends TablePaneDefinition> definitions, double[] contentSizes)
+    {
+        double size = 0;
+        for (int i = 0; i < definitions.size(); i++) size += computePrefSize(definitions.get(i), contentSizes[i]);
+        return size;
+    }
+
+    private static double computePrefSize(TablePaneDefinition definition, double contentSize)
+    {
+        if (definition.isAbsolute()) return definition.getSize();
+        // Add the additional size
+        double preferredSize = contentSize + definition.getSize();
+
+        if (definition.isMaxSizeSet() && definition.getMaxSize() < preferredSize) preferredSize = definition.getMaxSize();
+        if (definition.isMinSizeSet() && definition.getMinSize() > preferredSize) preferredSize = definition.getMinSize();
+        return preferredSize;
+    }
+
+    /**
+     * Calculates the minimum size of all tracks. Every track can shrink down to its minimum size, or to zero if no minimum size is set.
+     *
+     * @param definitions The definitions of the tracks.
+     * @return The sum of the minimum track sizes.
+     */
+    public static double computeMinSize(List<? extends TablePaneDefinition> definitions)
+    {
+        TablePaneDefinition definition;
+        double              size = 0;
+        for (int i = 0; i < definitions.size(); i++)
+        {
+            definition = definitions.get(i);
+            if (definition.isMinSizeSet()) size += definition.getMinSize();
+        }
+        return size;
+    }
+
+    /**
+     * Calculates the maximum size of all tracks. Only {@link SizeMode#RELATIVE} tracks grow with the available space, up to their maximum size. All
+     * other tracks can't grow beyond their preferred size.
+     *
+     * @param definitions  The definitions of the tracks.
+     * @param contentSizes The content size of each track.
+     * @return The sum of the maximum track sizes, {@link Double#MAX_VALUE} if a relative track has no maximum size.
+     */
+    public static double computeMaxSize(List<? extends TablePaneDefinition> definitions, double[] contentSizes)
+    {
+        TablePaneDefinition definition;
+        double              size = 0;
+        double              maxSize;
+        for (int i = 0; i < definitions.size(); i++)
+        {
+            definition = definitions.get(i);
+            if (definition.isRelative())
+            {
+                if (!definition.isMaxSizeSet()) return Double.MAX_VALUE;
+                maxSize = definition.getMaxSize();
+                if (definition.isMinSizeSet() && definition.getMinSize() > maxSize) maxSize = definition.getMinSize();
+                size += maxSize;
+            }
+            else size += computePrefSize(definition, contentSizes[i]);
+        }
+        return size;
+    }
+}
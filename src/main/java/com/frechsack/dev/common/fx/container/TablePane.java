@@ -1,24 +1,66 @@
 package com.frechsack.dev.common.fx.container;
 
 import com.frechsack.dev.common.fx.geometry.WriteableRectangle2D;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.EventType;
+import javafx.geometry.Bounds;
+import javafx.geometry.HPos;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.control.Control;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A {@link TablePane} organizes {@code Nodes} in a grid of columns and rows. Each column and row can be defined. <br> Columns and rows are not added
- * and removed dynamic when Nodes are added.<br> The {@link TablePaneConstraints} of a Node are stored in the Node itself.<br> The layout is not
+ * and removed dynamic when Nodes are added.<br> The {@link TablePaneConstraints} of a Node are stored in the Node itself, or packed into the {@code
+ * TablePane} if the {@link TablePaneConstraintsStorage#PANE} storage is used.<br> The layout is not
  * updated automatically if the {@code TablePaneRows} or {@code TablePaneColumns} are modified.<br> The function {@link TablePane#layout()} should be
- * called manually.
+ * called manually.<br> A layout pass only measures and relocates what changed since the last pass. A {@code TablePaneDefinition} or {@code
+ * TablePaneConstraints} is considered to be changed, if it has been replaced or one of its setters has been called. A child is measured again, if
+ * it requested a layout.<br> The preferred, minimum and maximum size of a {@code TablePane} are cached per input dimension until a layout is
+ * requested or a definition, constraint or child changes. Only {@link SizeMode#RELATIVE} tracks can grow, the maximum size is unbounded only if one
+ * of them has no maximum size.<br> A {@link TablePaneDefinition#isResizable() resizable} row or column can be resized by dragging its trailing grid
+ * line. A resized row or column gets its own copy of its definition and only lays out the children in it and shifts the children behind it, the
+ * other children are not checked again.<br>
+ * The column and row indices of the {@code TablePaneConstraints} are logical indices. Rows and columns that are inserted, removed, moved or
+ * permuted with the methods of the {@code TablePane} keep their logical index, so the constraints of the children stay valid. As long as rows and
+ * columns are only appended, the logical index of a row or column is its position. Rows and columns that are inserted or removed directly in the
+ * lists are treated as appended or removed at the end.<br> A {@code TablePane} created with a {@link TablePaneTemplate} shares the solved column and
+ * row sizes with the other {@code TablePanes} of the template.<br> A child {@code TablePane} can be a {@link #setSubgridColumns(boolean) subgrid},
+ * then it uses the columns or rows it spans in this {@code TablePane} and both are solved in one pass.<br> {@link
+ * #setBreakpoint(double, TablePaneTemplate) Breakpoints} switch the columns, rows and constraints by the width of the {@code TablePane}.<br> {@link
+ * #addLazy(Supplier, TablePaneConstraints, double, double) Lazy cells} create their {@code Node} when they become visible in an enclosing {@link
+ * ScrollPane}, {@link #setViewportCulling(boolean) viewport culling} skips the children outside of it.<br> {@link #getChildAt(double, double)}
+ * finds the cell and child at a point by the grid lines, {@link #addCellHandler(EventType, TablePaneCellHandler) cell handlers} use it to handle
+ * the mouse events of all cells at the {@code TablePane}.
  *
  * @see TablePaneDefinition
  * @see TablePaneConstraints
  * @see FillMode
  * @see SizeMode
+ * @see TablePaneConstraintsStorage
  */
 public class TablePane extends Pane
 {
@@ -28,13 +70,142 @@ public class TablePane extends Pane
      *                                                                             *
      ******************************************************************************/
     private static final String                    TABLE_PANE_CONSTRAINTS_KEY = "table-pane-constraints";
-    private final        double                    SIZE_MODIFIER              = 1.01;
+    static final         double                    SIZE_MODIFIER              = 1.01;
     private final        List<TablePaneDefinition> rowList                    = new ArrayList<>();
     private final        List<TablePaneDefinition> columnList                 = new ArrayList<>();
     private final        WriteableRectangle2D      nodeArea                   = new WriteableRectangle2D(0, 0, 0, 0);
     private final        WriteableRectangle2D      nodeBounds                 = new WriteableRectangle2D(0, 0, 0, 0);
+    private final        TablePaneTemplate         template;
+    // The template that solves the sizes of the tracks, the template of this TablePane or of the active breakpoint.
+    private              TablePaneTemplate         layoutTemplate;
+    // The layouts of this TablePane by the minimum width, null if there are no breakpoints.
+    private              NavigableMap<Double, TablePaneTemplate> breakpoints;
+    private              TablePaneTemplate         activeBreakpoint;
     private              double[]                  columnWidths;
     private              double[]                  rowHeights;
+    private              double[]                  previousColumnWidths;
+    private              double[]                  previousRowHeights;
+    // Prefix sums of the column widths and row heights. The offset at index i is the start of track i, the last offset is the end of the last track.
+    private              double[]                  columnOffsets;
+    private              double[]                  rowOffsets;
+    // The space the ABSOLUTE and AUTO_SIZE tracks take, if they are not limited by the available space.
+    private              double                    columnFixedWidth;
+    private              double                    rowFixedHeight;
+    // True if only the RELATIVE tracks must be calculated again, because the other tracks neither changed nor were limited by the last pass.
+    private              boolean                   columnsResizable;
+    private              boolean                   rowsResizable;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Layout state
+     *                                                                             *
+     ******************************************************************************/
+    private final ListChangeListener<Node>        childrenListener    = this::onChildrenChanged;
+    private final Runnable                        sizeCacheListener   = this::invalidateSizeCache;
+    // Are notified by the definitions and constraints this TablePane uses, when they are modified.
+    private final Runnable                        definitionsListener = this::onDefinitionModified;
+    private final Runnable                        constraintsListener = this::onConstraintsModified;
+    // Handles the grid lines as resize handles, it is only registered while a row or column is resizable.
+    private       TablePaneResizeHandler          resizeHandler;
+    // The copies of shared definitions, that have been resized by this TablePane. Only this TablePane uses them.
+    private       Set<TablePaneDefinition>        resizedDefinitions;
+    private       TablePaneConstraintsStorage     constraintsStorage  = TablePaneConstraintsStorage.NODE;
+    // The state of each child, aligned with the children list.
+    private final TablePaneChildState             children            = new TablePaneChildState();
+    // The packed constraints of children that have been removed since the last layout pass, a Node that is moved in the children list keeps them.
+    private       Map<Node, TablePaneConstraints> detachedConstraints;
+    // The index of each child for the PANE storage, it is built on the first lookup and kept while children are only appended or removed at the end.
+    private       Map<Node, Integer>              childIndices;
+    private       TablePaneBatch                  openBatch;
+    private       TablePaneBatch                  committingBatch;
+    private       long                            measureCount;
+    private       long                            measureCacheHitCount;
+    private       long                            relocateCount;
+    // The state of each column and row of the last layout pass.
+    private       TablePaneDefinition[]           layoutColumns       = new TablePaneDefinition[0];
+    private       TablePaneDefinition[]           layoutRows          = new TablePaneDefinition[0];
+    private       int[]                           columnVersions      = new int[0];
+    private       int[]                           rowVersions         = new int[0];
+    private       boolean[]                       columnDirty         = new boolean[0];
+    private       boolean[]                       rowDirty            = new boolean[0];
+    private       double[]                        columnContentWidths = new double[0];
+    private       double[]                        rowContentHeights   = new double[0];
+    private final TablePaneTrackIndex             columnIndex         = new TablePaneTrackIndex();
+    private final TablePaneTrackIndex             rowIndex            = new TablePaneTrackIndex();
+    private       boolean                         trackIndexInvalid   = true;
+    private       Insets                          layoutInsets;
+    // The computed sizes of this TablePane per input dimension. They are valid until a definition, constraint or child changes.
+    private final TablePaneSizeCache              prefWidthCache      = new TablePaneSizeCache();
+    private final TablePaneSizeCache              prefHeightCache     = new TablePaneSizeCache();
+    private final TablePaneSizeCache              minWidthCache       = new TablePaneSizeCache();
+    private final TablePaneSizeCache              minHeightCache      = new TablePaneSizeCache();
+    private final TablePaneSizeCache              maxWidthCache       = new TablePaneSizeCache();
+    private final TablePaneSizeCache              maxHeightCache      = new TablePaneSizeCache();
+    private       boolean                         sizeCacheValid;
+    // True if a used definition or bound constraints instance has been modified since the last check.
+    private       boolean                         definitionsModified;
+    private       boolean                         constraintsModified;
+    // True while a layout is requested because only rows or columns have been modified, the children are still valid then.
+    private       boolean                         trackLayoutRequested;
+    // True while a child is relocated by this TablePane, a relocated managed child requests a layout of its parent, that is ignored.
+    private       boolean                         relocating;
+    // True if a content biased child has been measured again in the current pass, because its width or height changed.
+    private       boolean                         remeasured;
+    // The positions of the logical column and row indices.
+    private final TablePaneTrackMap               columnMap           = new TablePaneTrackMap();
+    private final TablePaneTrackMap               rowMap              = new TablePaneTrackMap();
+    private       int                             columnMapStamp;
+    private       int                             rowMapStamp;
+    // The columns and rows that are laid out, those of this TablePane or those of the active breakpoint, which have their own positions.
+    private       List<TablePaneDefinition>       layoutColumnList    = columnList;
+    private       List<TablePaneDefinition>       layoutRowList       = rowList;
+    private       TablePaneTrackMap               layoutColumnMap     = columnMap;
+    private       TablePaneTrackMap               layoutRowMap        = rowMap;
+    // The cells of the active breakpoint, they replace the constraints of the children with the same index in the layout.
+    private       List<TablePaneConstraints>      breakpointCells;
+    // True if the children list or the breakpoint has changed, so the cells must be applied to the children again.
+    private       boolean                         breakpointCellsInvalid;
+    // The content sizes ordered by position, the other track arrays are indexed by the logical index.
+    private       double[]                        orderedColumnWidths;
+    private       double[]                        orderedRowHeights;
+    // True if the columns or rows of this TablePane are the tracks it spans in its parent TablePane.
+    private       boolean                         subgridColumns;
+    private       boolean                         subgridRows;
+    // The grid lines of the parent in the coordinates of this TablePane, they are set by the parent that lays out this subgrid.
+    private       TablePane                       subgridParent;
+    private       double[]                        subgridColumnLines;
+    private       double[]                        subgridRowLines;
+    // The children that are subgrids, in the order of the children list, and their modes of the last check of the children.
+    private       TablePane[]                     subgrids            = new TablePane[0];
+    private       int[]                           subgridIndices      = new int[0];
+    private       int[]                           subgridModes        = new int[0];
+    private       int                             subgridCount;
+    // The children that span more than one column or row, they are not part of the track index.
+    private       int[]                           spannedChildren     = new int[0];
+    private       int                             spannedCount;
+    // True if the children or their constraints have changed since the spanned children have been collected.
+    private       boolean                         spannedChildrenInvalid;
+    private       TablePaneCellDispatcher         cellDispatcher;
+    // True if lazy cells have been added, they are created when they intersect the viewport.
+    private       boolean                         lazyCellsAdded;
+    private       double                          lazyDiscardDistance = Double.POSITIVE_INFINITY;
+    private final InvalidationListener            viewportListener    = observable -> onViewportChanged();
+    private       boolean                         viewportObserved;
+    // True if children outside of the viewport are neither laid out nor rendered. The visible tracks of the current pass, as positions.
+    private       boolean                         viewportCulling;
+    private       int                             firstVisibleColumn;
+    private       int                             lastVisibleColumn;
+    private       int                             firstVisibleRow;
+    private       int                             lastVisibleRow;
+    // The visible tracks the children have been culled for by the last pass. If only the viewport changed since then, only the children in the
+    // tracks that entered or left the viewport are culled again.
+    private       boolean                         culledTracksValid;
+    private       int                             culledFirstColumn;
+    private       int                             culledLastColumn;
+    private       int                             culledFirstRow;
+    private       int                             culledLastRow;
+    // The page that is produced by a TablePanePaginator, it replaces the viewport of the ScrollPane.
+    private       Bounds                          pageViewport;
 
     /* *****************************************************************************
      *                                                                             *
@@ -43,209 +214,2234 @@ public class TablePane extends Pane
      ******************************************************************************/
 
     /**
-     * Creates a new instance of {@code TablePane} with no columns or rows.
+     * Creates a new instance of {@code TablePane} with no columns or rows.
+     */
+    public TablePane()
+    {
+        super();
+        template = null;
+        getChildren().addListener(childrenListener);
+    }
+
+    /**
+     * Creates a new instance of {@code TablePane} with the defined columns and rows.
+     *
+     * @param tablePaneDefinitions The columns and rows of the {@code TablePane}. You should pass instances of {@link TablePaneColumn} and {@link
+     *                             TablePaneRow}.
+     */
+    public TablePane(TablePaneDefinition... tablePaneDefinitions)
+    {
+        super();
+        template = null;
+        getChildren().addListener(childrenListener);
+        for (TablePaneDefinition def : tablePaneDefinitions)
+            if (def instanceof TablePaneColumn) columnList.add(def);
+            else if (def instanceof TablePaneRow) rowList.add(def);
+            else if (columnList.size() > rowList.size()) rowList.add(def);
+            else columnList.add(def);
+
+    }
+
+    /**
+     * Creates a new instance of {@code TablePane} with the columns and rows of a {@link TablePaneTemplate}. The sizes of the columns and rows are
+     * solved by the template and shared with the other {@code TablePanes} of the template, as long as the columns and rows are not replaced.
+     *
+     * @param template The {@code TablePaneTemplate}.
+     */
+    public TablePane(TablePaneTemplate template)
+    {
+        super();
+        this.template  = Objects.requireNonNull(template);
+        layoutTemplate = template;
+        getChildren().addListener(childrenListener);
+        columnList.addAll(template.getColumnList());
+        rowList.addAll(template.getRowList());
+    }
+
+    /**
+     * Returns the {@link TablePaneTemplate} of this {@code TablePane}.
+     *
+     * @return The {@code TablePaneTemplate}, null if this {@code TablePane} has been created without one.
+     */
+    public TablePaneTemplate getTemplate()
+    {
+        return template;
+    }
+
+    /**
+     * Sets the layout of this {@code TablePane} from the given width on. While a layout pass finds the width of this {@code TablePane} at or above
+     * the breakpoint, and below the next one, the columns and rows of the {@link TablePaneTemplate} are used and each child is placed with the cell
+     * constraints of the same index. Children without a cell keep their constraints. Below the smallest breakpoint, the smallest one is used.<br>
+     * Crossing a breakpoint swaps the layout inside of the layout pass. The children are not measured again and the template keeps the solved sizes
+     * of its layout, so switching back and forth does not solve them again.<br> A breakpoint only replaces the layout: the column and row lists,
+     * their logical indices and the {@link TablePaneConstraints} of the children are not modified. Modified constraints are used again, once no
+     * breakpoint cell replaces them.
+     *
+     * @param minWidth The minimum width of this {@code TablePane}, from which on the layout is used.
+     * @param layout   The layout.
+     */
+    public void setBreakpoint(double minWidth, TablePaneTemplate layout)
+    {
+        Objects.requireNonNull(layout);
+        if (breakpoints == null) breakpoints = new TreeMap<>();
+        breakpoints.put(minWidth, layout);
+        requestLayout();
+    }
+
+    /**
+     * Removes a breakpoint. If no breakpoint is left, the columns, rows and constraints of this {@code TablePane} are used again.
+     *
+     * @param minWidth The minimum width of the breakpoint.
+     * @return The layout of the breakpoint, null if there was none.
+     */
+    public TablePaneTemplate removeBreakpoint(double minWidth)
+    {
+        TablePaneTemplate layout = breakpoints == null ? null : breakpoints.remove(minWidth);
+        if (layout == null) return null;
+        requestLayout();
+        return layout;
+    }
+
+    /**
+     * Returns the breakpoints of this {@code TablePane}.
+     *
+     * @return An unmodifiable map of the layouts by their minimum width.
+     * @see #setBreakpoint(double, TablePaneTemplate)
+     */
+    public NavigableMap<Double, TablePaneTemplate> getBreakpoints()
+    {
+        return breakpoints == null ? Collections.emptyNavigableMap() : Collections.unmodifiableNavigableMap(breakpoints);
+    }
+
+    /**
+     * Returns the layout of the breakpoint that has been used by the last layout pass.
+     *
+     * @return The {@link TablePaneTemplate}, null if no breakpoint is active.
+     */
+    public TablePaneTemplate getActiveBreakpoint()
+    {
+        return activeBreakpoint;
+    }
+
+    /**
+     * Adds a children to this {@code TablePane} with the given {@link TablePaneConstraints}.
+     *
+     * @param child       The child that should be added.
+     * @param constraints The {@code TablePaneConstraints}.
+     * @return An instance of this {@code TablePane}.
+     */
+    public TablePane add(Node child, TablePaneConstraints constraints)
+    {
+        if (constraintsStorage == TablePaneConstraintsStorage.NODE)
+        {
+            setConstraints(child, constraints);
+            getChildren().add(child);
+        }
+        else
+        {
+            getChildren().add(child);
+            storeConstraints(getChildren().size() - 1, constraints);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a children to this {@code TablePane} in the given cell. The child fills the whole cell, without insets. <br> If the {@link
+     * TablePaneConstraintsStorage#PANE} storage is used, no instance of {@link TablePaneConstraints} is created.
+     *
+     * @param child       The child that should be added.
+     * @param columnIndex The column index (x-value).
+     * @param rowIndex    The row index (y-value).
+     * @param columnSpan  The column span (width).
+     * @param rowSpan     The row span (height).
+     * @return An instance of this {@code TablePane}.
+     */
+    public TablePane add(Node child, int columnIndex, int rowIndex, int columnSpan, int rowSpan)
+    {
+        if (constraintsStorage == TablePaneConstraintsStorage.NODE)
+            return add(child, new TablePaneConstraints(columnIndex, rowIndex, columnSpan, rowSpan, 0, 0, 0, 0));
+        getChildren().add(child);
+        int index = getChildren().size() - 1;
+        removeFromTracks(index);
+        children.pack(index, columnIndex, rowIndex, columnSpan, rowSpan);
+        bindSource(index, null);
+        addToTracks(index);
+        invalidateSizeCache();
+        return this;
+    }
+
+    /**
+     * Adds a children to this {@code TablePane} in the given cell. The spans, insets, fill mode and anchor are taken from the given {@link
+     * TablePaneConstraints}, usually an {@link TablePaneConstraints#intern(TablePaneConstraints) interned} instance that is shared by many
+     * children.<br> If the {@link TablePaneConstraintsStorage#PANE} storage is used, no instance of {@code TablePaneConstraints} is created or kept
+     * for the child. Otherwise the child gets a copy placed in the cell, if the given instance is placed in another cell.
+     *
+     * @param child       The child that should be added.
+     * @param columnIndex The column index (x-value).
+     * @param rowIndex    The row index (y-value).
+     * @param layout      The {@code TablePaneConstraints} whose cell is ignored.
+     * @return An instance of this {@code TablePane}.
+     */
+    public TablePane add(Node child, int columnIndex, int rowIndex, TablePaneConstraints layout)
+    {
+        if (constraintsStorage == TablePaneConstraintsStorage.NODE) return add(child, layout.atCell(columnIndex, rowIndex));
+        getChildren().add(child);
+        int index = getChildren().size() - 1;
+        removeFromTracks(index);
+        children.pack(index, columnIndex, rowIndex, layout);
+        bindSource(index, null);
+        addToTracks(index);
+        invalidateSizeCache();
+        return this;
+    }
+
+    /**
+     * Adds a cell to this {@code TablePane}, whose {@link Node} is created when the cell intersects the visible viewport for the first time.<br>
+     * The viewport is the visible area of the enclosing {@link ScrollPane}, or the bounds of this {@code TablePane} if there is none. Until the
+     * {@code Node} is created, the cell uses the estimated size. Cells that become visible are created and laid out in the same layout pass.
+     *
+     * @param supplier        Creates the {@code Node} of the cell.
+     * @param constraints     The {@code TablePaneConstraints}.
+     * @param estimatedWidth  The preferred width of the cell until the {@code Node} is created.
+     * @param estimatedHeight The preferred height of the cell until the {@code Node} is created.
+     * @return The {@link TablePaneLazyCell}, that is added as a child.
+     * @see #setLazyDiscardDistance(double)
+     */
+    public TablePaneLazyCell addLazy(Supplier<? extends Node> supplier, TablePaneConstraints constraints, double estimatedWidth,
+                                     double estimatedHeight)
+    {
+        TablePaneLazyCell cell = new TablePaneLazyCell(supplier, estimatedWidth, estimatedHeight);
+        lazyCellsAdded = true;
+        observeViewport();
+        add(cell, constraints);
+        return cell;
+    }
+
+    /**
+     * Returns the distance to the viewport, at which a created lazy cell is discarded.
+     *
+     * @return The distance.
+     * @see #setLazyDiscardDistance(double)
+     */
+    public double getLazyDiscardDistance()
+    {
+        return lazyDiscardDistance;
+    }
+
+    /**
+     * Sets the distance to the viewport, at which a created {@link TablePaneLazyCell} discards its {@link Node}. The cell keeps the size of the
+     * discarded {@code Node} and creates a new {@code Node} when it intersects the viewport again. The default distance is infinite, created cells
+     * are never discarded.
+     *
+     * @param lazyDiscardDistance The distance, must not be negative.
+     * @throws IllegalArgumentException If the distance is negative or NaN.
+     */
+    public void setLazyDiscardDistance(double lazyDiscardDistance)
+    {
+        if (!(lazyDiscardDistance >= 0)) throw new IllegalArgumentException("The discard distance must not be negative: " + lazyDiscardDistance);
+        this.lazyDiscardDistance = lazyDiscardDistance;
+        setNeedsLayout(true);
+    }
+
+    /**
+     * Checks if children outside of the viewport are culled.
+     *
+     * @return True if the viewport culling is enabled.
+     * @see #setViewportCulling(boolean)
+     */
+    public boolean isViewportCulling()
+    {
+        return viewportCulling;
+    }
+
+    /**
+     * Sets whether children outside of the viewport are culled. The viewport is the visible area of the enclosing {@link ScrollPane}, or the bounds
+     * of this {@code TablePane} if there is none.<br> The visible columns and rows are found by a binary search over the grid lines. A child that
+     * does not span any visible column or row is not laid out, it is only moved into its cell outside of the viewport, so it is not rendered. It
+     * still contributes to the sizes of its columns and rows and is laid out when it enters the viewport again. The visibility of the children is
+     * not changed by the culling. Disabling the culling lays out all children again.
+     *
+     * @param viewportCulling True if children outside of the viewport should be culled.
+     */
+    public void setViewportCulling(boolean viewportCulling)
+    {
+        if (this.viewportCulling == viewportCulling) return;
+        this.viewportCulling = viewportCulling;
+        if (viewportCulling) observeViewport();
+        setNeedsLayout(true);
+    }
+
+    private void observeViewport()
+    {
+        if (viewportObserved) return;
+        viewportObserved = true;
+        // Scrolling moves this TablePane without a layout request.
+        localToSceneTransformProperty().addListener(viewportListener);
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a row to this {@link TablePane}. The same {@link TablePaneDefinition} can be added multiple times to this
+     * {@link TablePane}.
+     *
+     * @param definition The {@link TablePaneDefinition}
+     * @return An instance of this {@code TablePane}.
+     */
+    public TablePane addRow(TablePaneDefinition definition)
+    {
+        rowList.add(definition);
+        return this;
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a column to this {@link TablePane}. The same {@code TablePaneDefinition} can be added multiple times to
+     * this {@link TablePane}.
+     *
+     * @param definition The {@code TablePaneDefinition}
+     * @return An instance of this {@code TablePane}.
+     */
+    public TablePane addColumn(TablePaneDefinition definition)
+    {
+        columnList.add(definition);
+        return this;
+    }
+
+    /**
+     * Shows the items of a list as rows, that are appended to the existing rows. The cells of a row are created by a {@link TablePaneRowFactory}.
+     * Changes of the list are applied as minimal row modifications, a row is reused as long as an item with the same key is part of the list.
+     *
+     * @param items        The items.
+     * @param keyExtractor The function that returns the key of an item. The keys should be unique.
+     * @param rowFactory   The {@code TablePaneRowFactory}.
+     * @param <T>          The type of the items.
+     * @return The {@link TablePaneRowBinding}, that can be used to stop observing the list.
+     */
+    public <T> TablePaneRowBinding<T> bindRows(ObservableList<T> items, Function<? super T, ?> keyExtractor,
+                                               TablePaneRowFactory<? super T> rowFactory)
+    {
+        return new TablePaneRowBinding<>(this, items, keyExtractor, rowFactory);
+    }
+
+    /**
+     * Opens a {@link TablePaneBatch} that collects children, rows and columns and adds them to this {@code TablePane} when it is closed. All children
+     * of a batch are added with a single change of the children list, their constraints are packed and indexed once and only one layout is
+     * requested.<br> Only one batch can be open at a time. A layout pass while the batch is open lays out the current children and leaves the batch
+     * alone. A batch that is still open when the next one is opened has been leaked, for example by an exception. It is abandoned and its content is
+     * discarded, so it does not block the next one.
+     *
+     * @return The {@code TablePaneBatch}.
+     */
+    public TablePaneBatch beginBatch()
+    {
+        if (openBatch != null) openBatch.abandon();
+        openBatch = new TablePaneBatch(this);
+        return openBatch;
+    }
+
+    /**
+     * Adds the content of a closed {@link TablePaneBatch}.
+     *
+     * @param batch The {@code TablePaneBatch}.
+     */
+    void commitBatch(TablePaneBatch batch)
+    {
+        openBatch = null;
+        columnList.addAll(batch.getColumns());
+        rowList.addAll(batch.getRows());
+        List<Node> nodes = batch.getNodes();
+        if (constraintsStorage == TablePaneConstraintsStorage.NODE)
+            for (int i = 0; i < nodes.size(); i++)
+            {
+                TablePaneConstraints constraints = batch.getConstraints(i);
+                if (constraints == null)
+                    constraints = new TablePaneConstraints(batch.getCell(i, 0), batch.getCell(i, 1), batch.getCell(i, 2), batch.getCell(i, 3), 0, 0, 0, 0);
+                else if (batch.isPlaced(i)) constraints = constraints.atCell(batch.getCell(i, 0), batch.getCell(i, 1));
+                setConstraints(nodes.get(i), constraints);
+            }
+        // The constraints of the PANE storage are packed while the children are inserted.
+        committingBatch = batch;
+        try
+        {
+            getChildren().addAll(nodes);
+        }
+        finally
+        {
+            committingBatch = null;
+        }
+        requestLayout();
+    }
+
+    /**
+     * Returns where this {@code TablePane} stores the {@link TablePaneConstraints} of its children.
+     *
+     * @return The {@link TablePaneConstraintsStorage}.
+     */
+    public TablePaneConstraintsStorage getConstraintsStorage()
+    {
+        return constraintsStorage;
+    }
+
+    /**
+     * Sets where this {@code TablePane} stores the {@link TablePaneConstraints} of its children. The storage can only be changed while the {@code
+     * TablePane} has no children.
+     *
+     * @param constraintsStorage The {@link TablePaneConstraintsStorage}.
+     * @throws IllegalStateException If this {@code TablePane} has children.
+     */
+    public void setConstraintsStorage(TablePaneConstraintsStorage constraintsStorage)
+    {
+        Objects.requireNonNull(constraintsStorage);
+        if (!getChildren().isEmpty()) throw new IllegalStateException("The constraints storage can't be changed while the TablePane has children.");
+        this.constraintsStorage = constraintsStorage;
+    }
+
+    /**
+     * Checks if the columns of this {@code TablePane} are the columns it spans in its parent.
+     *
+     * @return True if this {@code TablePane} is a column subgrid.
+     * @see #setSubgridColumns(boolean)
+     */
+    public boolean isSubgridColumns()
+    {
+        return subgridColumns;
+    }
+
+    /**
+     * Sets whether the columns of this {@code TablePane} are the columns it spans in its parent {@code TablePane}.<br> The content widths of the
+     * children of a subgrid are added to the columns of the parent, so the parent solves the widths of both grids in one pass and this {@code
+     * TablePane} uses the grid lines of its parent. The subgrid should define one column per spanned column, only their content is taken into
+     * account, their sizes are ignored. The insets of the subgrid are added to its first and last column. The subgrid should fill its area.<br> If
+     * this {@code TablePane} is not a child of a {@code TablePane}, its own columns are used.
+     *
+     * @param subgridColumns True if this {@code TablePane} should be a column subgrid.
+     */
+    public void setSubgridColumns(boolean subgridColumns)
+    {
+        if (this.subgridColumns == subgridColumns) return;
+        this.subgridColumns = subgridColumns;
+        requestLayout();
+    }
+
+    /**
+     * Checks if the rows of this {@code TablePane} are the rows it spans in its parent.
+     *
+     * @return True if this {@code TablePane} is a row subgrid.
+     * @see #setSubgridRows(boolean)
+     */
+    public boolean isSubgridRows()
+    {
+        return subgridRows;
+    }
+
+    /**
+     * Sets whether the rows of this {@code TablePane} are the rows it spans in its parent {@code TablePane}. Rows behave like the columns of a
+     * subgrid.
+     *
+     * @param subgridRows True if this {@code TablePane} should be a row subgrid.
+     * @see #setSubgridColumns(boolean)
+     */
+    public void setSubgridRows(boolean subgridRows)
+    {
+        if (this.subgridRows == subgridRows) return;
+        this.subgridRows = subgridRows;
+        requestLayout();
+    }
+
+    /**
+     * Sets the {@link TablePaneConstraints} of the given {@link Node}.<br> If the {@code Node} is a child of a {@code TablePane} with the {@link
+     * TablePaneConstraintsStorage#PANE} storage, the values are copied into the {@code TablePane}. Later changes of the given instance are not
+     * observed, the instance returned by {@link #getConstraints(Node)} should be modified instead.
+     *
+     * @param node        The {@code Node}.
+     * @param constraints The {@code Node's} {@code TablePaneConstraints}.
+     */
+    public static void setConstraints(Node node, TablePaneConstraints constraints)
+    {
+        TablePane pane = getStoringPane(node);
+        if (pane != null) pane.storeConstraints(pane.indexOfChild(node), constraints);
+        else
+        {
+            if (constraints == null) node.getProperties().remove(TABLE_PANE_CONSTRAINTS_KEY);
+            else node.getProperties().put(TABLE_PANE_CONSTRAINTS_KEY, constraints);
+            // The replaced constraints invalidate the cached sizes of the parent.
+            if (node.getParent() instanceof TablePane) node.getParent().requestLayout();
+        }
+    }
+
+    /**
+     * Returns the {@link TablePaneConstraints} of the given {@link Node}.<br> If the {@code Node} is a child of a {@code TablePane} with the {@link
+     * TablePaneConstraintsStorage#PANE} storage, an instance is created from the packed values on the first call. That instance stays bound to the
+     * {@code Node}, changes of it are observed.
+     *
+     * @param node The {@code Node}.
+     * @return The {@code Node's}  {@code TablePaneConstraints}. If the don't exist, a shared instance of {@code TablePaneConstraints} is returned.
+     */
+    public static TablePaneConstraints getConstraints(Node node)
+    {
+        TablePane pane = getStoringPane(node);
+        if (pane != null) return pane.loadConstraints(pane.indexOfChild(node));
+        if (node.hasProperties())
+        {
+            Object value = node.getProperties().get(TABLE_PANE_CONSTRAINTS_KEY);
+            if (value == null) return TablePaneConstraints.getNullConstraints();
+            if (value instanceof TablePaneConstraints) return (TablePaneConstraints) value;
+        }
+        return TablePaneConstraints.getNullConstraints();
+    }
+
+    /**
+     * Returns the parent of the given {@link Node}, if it is a {@code TablePane} with the {@link TablePaneConstraintsStorage#PANE} storage.
+     *
+     * @param node The {@code Node}.
+     * @return The {@code TablePane} or null.
+     */
+    private static TablePane getStoringPane(Node node)
+    {
+        Parent parent = node.getParent();
+        if (parent instanceof TablePane && ((TablePane) parent).constraintsStorage == TablePaneConstraintsStorage.PANE) return (TablePane) parent;
+        return null;
+    }
+
+    /**
+     * Returns the index of a child without searching the children list. The index map is built once and kept up to date, while children are only
+     * appended or removed at the end.
+     *
+     * @param node The child.
+     * @return The index of the child.
+     */
+    private int indexOfChild(Node node)
+    {
+        if (childIndices == null)
+        {
+            List<Node> nodes = getChildren();
+            childIndices = new IdentityHashMap<>(nodes.size() * 2);
+            for (int i = 0; i < nodes.size(); i++) childIndices.put(nodes.get(i), i);
+        }
+        return childIndices.get(node);
+    }
+
+    /**
+     * Packs the given {@link TablePaneConstraints} into the slot of a child. The instance is not bound to the child.
+     *
+     * @param index       The index of the child.
+     * @param constraints The {@code TablePaneConstraints}. If null is passed, the default constraints are used.
+     */
+    private void storeConstraints(int index, TablePaneConstraints constraints)
+    {
+        applyConstraints(index, constraints == null ? TablePaneConstraints.getNullConstraints() : constraints, false);
+    }
+
+    /**
+     * Returns the {@link TablePaneConstraints} instance that is bound to a child. If no instance is bound, one is created from the packed values.
+     *
+     * @param index The index of the child.
+     * @return The {@code TablePaneConstraints}.
+     */
+    private TablePaneConstraints loadConstraints(int index)
+    {
+        TablePaneConstraints constraints = children.sources[index];
+        if (constraints == null)
+        {
+            constraints = children.unpack(index);
+            bindSource(index, constraints);
+            children.versions[index] = constraints.getVersion();
+        }
+        return constraints;
+    }
+
+    /**
+     * Returns a list with instances of {@link TablePaneDefinition} who act as a row.
+     *
+     * @return A list with instances of {@link TablePaneDefinition}.
+     */
+    public List<TablePaneDefinition> getRowList()
+    {
+        return rowList;
+    }
+
+    /**
+     * Returns a list with instances of {@link TablePaneDefinition} who act as a column.
+     *
+     * @return A list with instances of {@link TablePaneDefinition}.
+     */
+    public List<TablePaneDefinition> getColumnList()
+    {
+        return columnList;
+    }
+
+    /**
+     * Resizes a column to the given width and lays out the children in it and behind it. The column becomes {@link SizeMode#ABSOLUTE}, the width is
+     * limited by the minimum and maximum size of the column.<br> The {@link TablePaneDefinition} of the column can be shared by other columns and
+     * {@code TablePanes}, so it is not modified. On the first resize, it is replaced by a copy in the column list, that is only used by this column.
+     * <br> Unlike a modification of the {@code TablePaneDefinition} followed by {@link #requestLayout()}, the children are not checked for changes in
+     * the next layout pass.
+     *
+     * @param index The index of the column.
+     * @param width The new width.
+     * @throws IndexOutOfBoundsException If there is no column at the index.
+     */
+    public void resizeColumn(int index, double width)
+    {
+        resizeTrack(columnList, index, width);
+    }
+
+    /**
+     * Resizes a row to the given height and lays out the children in it and below it. The row becomes {@link SizeMode#ABSOLUTE}, the height is
+     * limited by the minimum and maximum size of the row.<br> Like a resized column, the row gets a copy of its {@link TablePaneDefinition} on the
+     * first resize.<br> Unlike a modification of the {@code TablePaneDefinition} followed by {@link #requestLayout()}, the children are not checked
+     * for changes in the next layout pass.
+     *
+     * @param index  The index of the row.
+     * @param height The new height.
+     * @throws IndexOutOfBoundsException If there is no row at the index.
+     * @see #resizeColumn(int, double)
+     */
+    public void resizeRow(int index, double height)
+    {
+        resizeTrack(rowList, index, height);
+    }
+
+    private void resizeTrack(List<TablePaneDefinition> definitions, int position, double size)
+    {
+        TablePaneDefinition definition = definitions.get(position);
+        if (definition.isMaxSizeSet()) size = Math.min(size, definition.getMaxSize());
+        if (definition.isMinSizeSet()) size = Math.max(size, definition.getMinSize());
+        size = Math.max(size, 0);
+        if (definition.isAbsolute() && definition.getSize() == size) return;
+        // A shared definition would resize every track and TablePane that uses it.
+        if (resizedDefinitions == null || !resizedDefinitions.contains(definition))
+        {
+            definition = (TablePaneDefinition) definition.clone();
+            if (resizedDefinitions == null) resizedDefinitions = Collections.newSetFromMap(new IdentityHashMap<>());
+            resizedDefinitions.add(definition);
+            definitions.set(position, definition);
+        }
+        definition.setSizeMode(SizeMode.ABSOLUTE);
+        definition.setSize(size);
+        requestTrackLayout();
+    }
+
+    /**
+     * Registers the {@link TablePaneResizeHandler} while a row or column is resizable, and removes it otherwise.
+     *
+     * @param resizable True if a row or column is resizable.
+     */
+    private void updateResizeHandler(boolean resizable)
+    {
+        if (resizable == (resizeHandler != null)) return;
+        if (resizable)
+        {
+            resizeHandler = new TablePaneResizeHandler(this);
+            addEventFilter(MouseEvent.ANY, resizeHandler);
+        }
+        else
+        {
+            removeEventFilter(MouseEvent.ANY, resizeHandler);
+            resizeHandler.reset();
+            resizeHandler = null;
+        }
+    }
+
+    /**
+     * Requests a layout after rows or columns have been modified. The modification is detected by the stamps of the definitions and track maps, the
+     * children are still valid and are not checked again.
+     */
+    void requestTrackLayout()
+    {
+        trackLayoutRequested = true;
+        try
+        {
+            requestLayout();
+        }
+        finally
+        {
+            trackLayoutRequested = false;
+        }
+    }
+
+    /**
+     * Inserts a row at a position. The row gets an unused logical index, the other rows keep their logical index. The logical index of a
+     * removed row is used again, once a layout pass has found no child that refers to it.
+     *
+     * @param position   The position of the new row.
+     * @param definition The {@link TablePaneDefinition} of the row.
+     * @return The logical index of the new row, that is used by the {@link TablePaneConstraints} of its children.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int insertRow(int position, TablePaneDefinition definition)
+    {
+        rowMap.synchronize(rowList.size());
+        if (rowMap.shouldRecycle()) recycleTracks();
+        int row = insertTrack(rowList, rowMap, position, definition);
+        requestTrackLayout();
+        return row;
+    }
+
+    /**
+     * Inserts a column at a position. The column gets an unused logical index, the other columns keep their logical index. The logical index of a
+     * removed column is used again, once a layout pass has found no child that refers to it.
+     *
+     * @param position   The position of the new column.
+     * @param definition The {@link TablePaneDefinition} of the column.
+     * @return The logical index of the new column, that is used by the {@link TablePaneConstraints} of its children.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int insertColumn(int position, TablePaneDefinition definition)
+    {
+        columnMap.synchronize(columnList.size());
+        if (columnMap.shouldRecycle()) recycleTracks();
+        int column = insertTrack(columnList, columnMap, position, definition);
+        requestTrackLayout();
+        return column;
+    }
+
+    /**
+     * Removes the row at a position. Children that are still placed in the row are placed outside of the grid, until its logical index is used
+     * again by an appended or inserted row.
+     *
+     * @param position The position of the row.
+     * @return The {@link TablePaneDefinition} of the removed row.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public TablePaneDefinition removeRow(int position)
+    {
+        TablePaneDefinition definition = removeTrack(rowList, rowMap, position);
+        requestTrackLayout();
+        return definition;
+    }
+
+    /**
+     * Removes the column at a position. Children that are still placed in the column are placed outside of the grid, until its logical index is
+     * used again by an appended or inserted column.
+     *
+     * @param position The position of the column.
+     * @return The {@link TablePaneDefinition} of the removed column.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public TablePaneDefinition removeColumn(int position)
+    {
+        TablePaneDefinition definition = removeTrack(columnList, columnMap, position);
+        requestTrackLayout();
+        return definition;
+    }
+
+    /**
+     * Moves a row to another position. The row and its children keep their logical index.
+     *
+     * @param from The current position of the row.
+     * @param to   The new position of the row.
+     * @throws IndexOutOfBoundsException If a position is out of range.
+     */
+    public void moveRow(int from, int to)
+    {
+        moveTrack(rowList, rowMap, from, to);
+        requestTrackLayout();
+    }
+
+    /**
+     * Moves a column to another position. The column and its children keep their logical index.
+     *
+     * @param from The current position of the column.
+     * @param to   The new position of the column.
+     * @throws IndexOutOfBoundsException If a position is out of range.
+     */
+    public void moveColumn(int from, int to)
+    {
+        moveTrack(columnList, columnMap, from, to);
+        requestTrackLayout();
+    }
+
+    /**
+     * Reorders all rows, for example to sort them. The rows and their children keep their logical index, no {@link TablePaneConstraints} is
+     * modified.
+     *
+     * @param order The current position of each row, in the new order.
+     * @throws IllegalArgumentException If the order is not a permutation of the positions of all rows.
+     */
+    public void permuteRows(int... order)
+    {
+        permuteTracks(rowList, rowMap, order);
+        requestTrackLayout();
+    }
+
+    /**
+     * Reorders all columns. The columns and their children keep their logical index, no {@link TablePaneConstraints} is modified.
+     *
+     * @param order The current position of each column, in the new order.
+     * @throws IllegalArgumentException If the order is not a permutation of the positions of all columns.
+     */
+    public void permuteColumns(int... order)
+    {
+        permuteTracks(columnList, columnMap, order);
+        requestTrackLayout();
+    }
+
+    // Row access for a TablePaneRowBinding, that requests one layout for several modifications.
+
+    /**
+     * Inserts several rows at a position, the rows behind them are shifted once.
+     *
+     * @param position    The position of the first new row.
+     * @param definitions The {@link TablePaneDefinition} of each new row.
+     */
+    void insertRowTracks(int position, List<TablePaneDefinition> definitions)
+    {
+        rowMap.synchronize(rowList.size());
+        if (rowMap.shouldRecycle()) recycleTracks();
+        rowList.addAll(position, definitions);
+        rowMap.insert(position, definitions.size());
+    }
+
+    /**
+     * Removes several rows, the remaining rows are shifted once.
+     *
+     * @param positions The positions of the removed rows.
+     */
+    void removeRowTracks(BitSet positions)
+    {
+        int first = positions.nextSetBit(0);
+        if (first < 0) return;
+        rowMap.synchronize(rowList.size());
+        int target = first;
+        for (int position = first; position < rowList.size(); position++)
+            if (!positions.get(position)) rowList.set(target++, rowList.get(position));
+        rowList.subList(target, rowList.size()).clear();
+        rowMap.remove(positions);
+    }
+
+    void permuteRowTracks(int[] order)
+    {
+        permuteTracks(rowList, rowMap, order);
+    }
+
+    private static int insertTrack(List<TablePaneDefinition> definitions, TablePaneTrackMap map, int position, TablePaneDefinition definition)
+    {
+        map.synchronize(definitions.size());
+        definitions.add(position, definition);
+        return map.insert(position);
+    }
+
+    private static TablePaneDefinition removeTrack(List<TablePaneDefinition> definitions, TablePaneTrackMap map, int position)
+    {
+        map.synchronize(definitions.size());
+        TablePaneDefinition definition = definitions.remove(position);
+        map.remove(position);
+        return definition;
+    }
+
+    private static void moveTrack(List<TablePaneDefinition> definitions, TablePaneTrackMap map, int from, int to)
+    {
+        map.synchronize(definitions.size());
+        Objects.checkIndex(to, definitions.size());
+        definitions.add(to, definitions.remove(from));
+        map.move(from, to);
+    }
+
+    private static void permuteTracks(List<TablePaneDefinition> definitions, TablePaneTrackMap map, int[] order)
+    {
+        map.synchronize(definitions.size());
+        map.permute(order);
+        TablePaneDefinition[] copy = definitions.toArray(new TablePaneDefinition[0]);
+        for (int i = 0; i < order.length; i++) definitions.set(i, copy[order[i]]);
+    }
+
+    /**
+     * Returns the logical index of the row at a position.
+     *
+     * @param position The position of the row.
+     * @return The logical index, that is used by the {@link TablePaneConstraints} of the children in the row.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int getRowIndex(int position)
+    {
+        rowMap.synchronize(rowList.size());
+        Objects.checkIndex(position, rowList.size());
+        return rowMap.toTrack(position);
+    }
+
+    /**
+     * Returns the logical index of the column at a position.
+     *
+     * @param position The position of the column.
+     * @return The logical index, that is used by the {@link TablePaneConstraints} of the children in the column.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int getColumnIndex(int position)
+    {
+        columnMap.synchronize(columnList.size());
+        Objects.checkIndex(position, columnList.size());
+        return columnMap.toTrack(position);
+    }
+
+    /**
+     * Returns the position of a row.
+     *
+     * @param rowIndex The logical index of the row.
+     * @return The position, or -1 if there is no row with this logical index.
+     */
+    public int getRowPosition(int rowIndex)
+    {
+        rowMap.synchronize(rowList.size());
+        int position = rowMap.toPosition(rowIndex);
+        return position >= 0 && position < rowList.size() ? position : -1;
+    }
+
+    /**
+     * Returns the position of a column.
+     *
+     * @param columnIndex The logical index of the column.
+     * @return The position, or -1 if there is no column with this logical index.
+     */
+    public int getColumnPosition(int columnIndex)
+    {
+        columnMap.synchronize(columnList.size());
+        int position = columnMap.toPosition(columnIndex);
+        return position >= 0 && position < columnList.size() ? position : -1;
+    }
+
+    /**
+     * Returns the logical index of the column at a x-value, in the coordinates of this {@code TablePane}. The column is found by a binary search
+     * over the grid lines of the last layout pass.
+     *
+     * @param x The x-value.
+     * @return The logical column index, -1 if the x-value is outside of the grid.
+     */
+    public int getColumnAt(double x)
+    {
+        int position = findTrack(columnOffsets, x);
+        return position >= 0 && position < layoutColumnMap.size() ? layoutColumnMap.toTrack(position) : -1;
+    }
+
+    /**
+     * Returns the logical index of the row at a y-value, in the coordinates of this {@code TablePane}. The row is found by a binary search over the
+     * grid lines of the last layout pass.
+     *
+     * @param y The y-value.
+     * @return The logical row index, -1 if the y-value is outside of the grid.
+     */
+    public int getRowAt(double y)
+    {
+        int position = findTrack(rowOffsets, y);
+        return position >= 0 && position < layoutRowMap.size() ? layoutRowMap.toTrack(position) : -1;
+    }
+
+    /**
+     * Returns the child whose cell contains a point, in the coordinates of this {@code TablePane}. The cell is found by a binary search over the
+     * grid lines of the last layout pass, the child is searched in the children of the cell's column or row only. Unlike picking, the child is
+     * found if it is mouse transparent or does not fill its cell.<br> If several children occupy the cell, the last one in the children list is
+     * returned, which is the one in front.<br> Changes of the children and their constraints since the last layout pass are taken into account,
+     * only the grid lines are the ones of the last layout pass.
+     *
+     * @param x The x-value.
+     * @param y The y-value.
+     * @return The child, null if the point is outside of the grid or the cell is empty.
+     */
+    public Node getChildAt(double x, double y)
+    {
+        // The track index and the spanned children must match the current children.
+        prepareLayout();
+        if (trackIndexInvalid) rebuildTrackIndex();
+        if (spannedChildrenInvalid) collectSpannedChildren();
+        final int COLUMN = getColumnAt(x);
+        final int ROW    = COLUMN == -1 ? -1 : getRowAt(y);
+        if (ROW == -1) return null;
+        // Children with a span of one are indexed by their column and row, the shorter list is searched.
+        boolean byColumn = columnIndex.size(COLUMN) <= rowIndex.size(ROW);
+        int[]   members  = byColumn ? columnIndex.get(COLUMN) : rowIndex.get(ROW);
+        int     size     = byColumn ? columnIndex.size(COLUMN) : rowIndex.size(ROW);
+        int     found    = -1;
+        for (int i = 0; i < size; i++)
+        {
+            int child = members[i];
+            if (child <= found || !children.included[child]) continue;
+            if (byColumn ? children.getContentRow(child) == ROW : children.getContentColumn(child) == COLUMN) found = child;
+        }
+        final int COLUMN_POSITION = layoutColumnMap.toPosition(COLUMN);
+        final int ROW_POSITION    = layoutRowMap.toPosition(ROW);
+        for (int i = 0; i < spannedCount; i++)
+        {
+            int child = spannedChildren[i];
+            if (child <= found) continue;
+            // The span is clamped to the existing tracks, like the area of the child.
+            int column = layoutColumnMap.toPosition(children.columns[child]);
+            int row    = layoutRowMap.toPosition(children.rows[child]);
+            if (column <= COLUMN_POSITION && COLUMN_POSITION < Math.min(column + children.getColumnSpan(child), layoutColumnMap.size()) &&
+                row <= ROW_POSITION && ROW_POSITION < Math.min(row + children.getRowSpan(child), layoutRowMap.size())) found = child;
+        }
+        return found == -1 ? null : getChildren().get(found);
+    }
+
+    /**
+     * Returns the position of the track that contains a coordinate.
+     *
+     * @param offsets The grid lines, may be null.
+     * @param value   The coordinate.
+     * @return The position, -1 if the coordinate is outside of the grid.
+     */
+    private static int findTrack(double[] offsets, double value)
+    {
+        if (offsets == null || offsets.length < 2 || !(value >= offsets[0]) || value >= offsets[offsets.length - 1]) return -1;
+        // The track starts at the last line in front of the value, empty tracks share this line and are skipped.
+        return searchLine(offsets, Math.nextUp(value)) - 1;
+    }
+
+    /**
+     * Adds a handler for the mouse events of the cells. The cell below the mouse is searched by this {@code TablePane}, so the children can be
+     * mouse transparent and do not need handlers of their own. A handler of {@link MouseEvent#MOUSE_ENTERED} or {@link MouseEvent#MOUSE_EXITED} is
+     * called when the mouse enters or exits a cell, a handler of {@link MouseEvent#ANY} receives all events.
+     *
+     * @param eventType The event type.
+     * @param handler   The {@link TablePaneCellHandler}.
+     * @see #getChildAt(double, double)
+     */
+    public void addCellHandler(EventType<MouseEvent> eventType, TablePaneCellHandler handler)
+    {
+        Objects.requireNonNull(eventType);
+        Objects.requireNonNull(handler);
+        if (cellDispatcher == null)
+        {
+            cellDispatcher = new TablePaneCellDispatcher(this);
+            addEventHandler(MouseEvent.ANY, cellDispatcher);
+        }
+        cellDispatcher.add(eventType, handler);
+    }
+
+    /**
+     * Removes a handler for the mouse events of the cells.
+     *
+     * @param eventType The event type the handler has been added with.
+     * @param handler   The {@link TablePaneCellHandler}.
+     */
+    public void removeCellHandler(EventType<MouseEvent> eventType, TablePaneCellHandler handler)
+    {
+        if (cellDispatcher != null) cellDispatcher.remove(eventType, handler);
+    }
+
+    /**
+     * Sets the area of the page that is printed. While a page is set, it is used as the viewport.
+     *
+     * @param pageViewport The area of the page, null if no page is printed.
+     */
+    void setPageViewport(Bounds pageViewport)
+    {
+        this.pageViewport = pageViewport;
+        setNeedsLayout(true);
+    }
+
+    /**
+     * Returns the column offsets of the last layout pass, including the end of the last column.
+     *
+     * @return The offsets, null if no layout pass has been done yet.
+     */
+    double[] getColumnOffsets()
+    {
+        return columnOffsets;
+    }
+
+    /**
+     * Returns the row offsets of the last layout pass, including the end of the last row.
+     *
+     * @return The offsets, null if no layout pass has been done yet.
+     */
+    double[] getRowOffsets()
+    {
+        return rowOffsets;
+    }
+
+    /**
+     * Returns how often a child has been measured since the creation of this {@code TablePane} or the last call of {@link #resetMeasureCounters()}.
+     * A measurement queries the preferred width and height of a child.
+     *
+     * @return The number of measurements.
+     */
+    public long getMeasureCount()
+    {
+        return measureCount;
+    }
+
+    /**
+     * Returns how often the preferred size of a child has been taken from the measurement cache since the creation of this {@code TablePane} or the
+     * last call of {@link #resetMeasureCounters()}.
+     *
+     * @return The number of cache hits.
+     */
+    public long getMeasureCacheHitCount()
+    {
+        return measureCacheHitCount;
+    }
+
+    /**
+     * Sets the measurement counters to zero.
+     *
+     * @see #getMeasureCount()
+     * @see #getMeasureCacheHitCount()
+     */
+    public void resetMeasureCounters()
+    {
+        measureCount         = 0;
+        measureCacheHitCount = 0;
+    }
+
+    /* ******************************************************************************
+     *                                                                             *
+     * Layout Calculation
+     *                                                                             *
+     ******************************************************************************/
+
+    @Override
+    protected void layoutChildren()
+    {
+        layoutTracks();
+        // Lazy cells that became visible are created and laid out in this pass. Their sizes can move other cells into the viewport. Content biased
+        // children that changed their preferred size at their new width resize their rows or columns.
+        for (int pass = 0; pass < 2 && (updateLazyCells() | remeasured); pass++) layoutTracks();
+        // The size of this TablePane changes with the preferred sizes of the content biased children.
+        if (remeasured) requestLayout();
+    }
+
+    private void layoutTracks()
+    {
+        TablePaneLayoutEvent event = new TablePaneLayoutEvent();
+        event.begin();
+        long measures    = measureCount;
+        long relocations = relocateCount;
+        remeasured = false;
+        applyBreakpoint();
+        // Nothing but the viewport can have changed, if the state of the last pass is still valid.
+        final boolean STATE_VALID = isSizeCacheValid();
+        prepareLayout();
+        // Calculate Columns and Rows sizes
+        calculateColumnWidths();
+        calculateRowHeights();
+        Insets insets = getInsets();
+        columnOffsets = calculateOffsets(columnWidths, columnOffsets, insets.getLeft(), true);
+        rowOffsets    = calculateOffsets(rowHeights, rowOffsets, insets.getTop(), false);
+        // Find the first column and row that moved, every child in front of them keeps its area.
+        boolean insetsChanged = !insets.equals(layoutInsets);
+        int     firstColumn   = insetsChanged ? 0 : firstChangedIndex(previousColumnWidths, columnWidths);
+        int     firstRow      = insetsChanged ? 0 : firstChangedIndex(previousRowHeights, rowHeights);
+        // Moved tracks can keep their sizes, the children in them are laid out anyway.
+        firstColumn  = Math.min(firstColumn, layoutColumnMap.takeFirstChanged());
+        firstRow     = Math.min(firstRow, layoutRowMap.takeFirstChanged());
+        layoutInsets = insets;
+        if (viewportObserved) updateVisibleTracks();
+        boolean culling = viewportCulling && columnOffsets.length > 1 && rowOffsets.length > 1;
+        if (culling && culledTracksValid && STATE_VALID && firstColumn == Integer.MAX_VALUE && firstRow == Integer.MAX_VALUE)
+        {
+            updateCulledTracks();
+            commitEvent(event, TablePaneLayoutEvent.LAYOUT, measures, relocations);
+            return;
+        }
+        // Children with a span of zero are in no track, they are only culled again by a pass over all children.
+        culledTracksValid = culling;
+        spannedCount      = 0;
+
+        for (int i = 0; i < children.size; i++)
+        {
+            if (children.included[i] && (children.getColumnSpan(i) == 0 || children.getRowSpan(i) == 0)) culledTracksValid = false;
+            boolean culled = culling && children.included[i] && !isInViewport(i);
+            if (culled != children.culled[i])
+            {
+                children.culled[i] = culled;
+                // A child that enters the viewport has only been moved while it was culled.
+                if (!culled) children.dirty[i] = true;
+            }
+            // A child that is measured again while it is laid out is dirty for the next pass.
+            boolean dirty = children.dirty[i];
+            children.dirty[i] = false;
+            // Unmanaged and invisible children are not laid out, culled children only follow their cell.
+            if (children.included[i] && (dirty || layoutColumnMap.toPosition(children.columns[i]) + children.getColumnSpan(i) > firstColumn ||
+                                         layoutRowMap.toPosition(children.rows[i]) + children.getRowSpan(i) > firstRow))
+            {
+                calculateNodeArea(i);
+                if (culled) moveCulledChild(i);
+                else
+                {
+                    calculateNodeBounds(i);
+                    // A subgrid uses the grid lines of this pass.
+                    if (subgridCount > 0) layoutSubgrid(i);
+                }
+            }
+            if (children.included[i] && (children.getColumnSpan(i) > 1 || children.getRowSpan(i) > 1)) addSpannedChild(i);
+        }
+        spannedChildrenInvalid = false;
+        setCulledTracks();
+        commitEvent(event, TablePaneLayoutEvent.LAYOUT, measures, relocations);
+    }
+
+    /**
+     * Culls the children again, after only the viewport has changed. Only the children in the columns and rows that entered or left the viewport
+     * since the last pass and the spanned children are visited, they are found by the track index. So the costs of a scroll pass depend on the
+     * number of children in these tracks, not on the number of all children.
+     */
+    private void updateCulledTracks()
+    {
+        updateCulledTracks(columnIndex, layoutColumnMap, culledFirstColumn, culledLastColumn, firstVisibleColumn, lastVisibleColumn);
+        updateCulledTracks(rowIndex, layoutRowMap, culledFirstRow, culledLastRow, firstVisibleRow, lastVisibleRow);
+        for (int i = 0; i < spannedCount; i++) updateCulledChild(spannedChildren[i]);
+        setCulledTracks();
+    }
+
+    private void updateCulledTracks(TablePaneTrackIndex index, TablePaneTrackMap map, int previousFirst, int previousLast, int first, int last)
+    {
+        final int END = map.size() - 1;
+        // The tracks that left the viewport and the tracks that entered it.
+        for (int position = Math.max(previousFirst, 0); position <= Math.min(previousLast, END); position++)
+            if (position < first || position > last) updateCulledChildren(index, map.toTrack(position));
+        for (int position = Math.max(first, 0); position <= Math.min(last, END); position++)
+            if (position < previousFirst || position > previousLast) updateCulledChildren(index, map.toTrack(position));
+    }
+
+    private void updateCulledChildren(TablePaneTrackIndex index, int track)
+    {
+        final int[] MEMBERS = index.get(track);
+        for (int i = 0; i < index.size(track); i++) updateCulledChild(MEMBERS[i]);
+    }
+
+    /**
+     * Culls a child that left the viewport and lays out a child that entered it.
+     *
+     * @param index The index of the child.
+     */
+    private void updateCulledChild(int index)
+    {
+        if (!children.included[index]) return;
+        boolean culled = !isInViewport(index);
+        if (culled == children.culled[index]) return;
+        children.culled[index] = culled;
+        calculateNodeArea(index);
+        if (culled) moveCulledChild(index);
+        else
+        {
+            calculateNodeBounds(index);
+            if (subgridCount > 0) layoutSubgrid(index);
+        }
+    }
+
+    private void setCulledTracks()
+    {
+        culledFirstColumn = firstVisibleColumn;
+        culledLastColumn  = lastVisibleColumn;
+        culledFirstRow    = firstVisibleRow;
+        culledLastRow     = lastVisibleRow;
+    }
+
+    /**
+     * Collects the included children that span more than one column or row, outside of a layout pass.
+     */
+    private void collectSpannedChildren()
+    {
+        spannedCount = 0;
+        for (int i = 0; i < children.size; i++)
+            if (children.included[i] && (children.getColumnSpan(i) > 1 || children.getRowSpan(i) > 1)) addSpannedChild(i);
+        spannedChildrenInvalid = false;
+    }
+
+    private void addSpannedChild(int index)
+    {
+        if (spannedCount == spannedChildren.length) spannedChildren = Arrays.copyOf(spannedChildren, Math.max(8, spannedCount * 2));
+        spannedChildren[spannedCount++] = index;
+    }
+
+    /**
+     * Is called when this {@code TablePane} has been moved in the scene, usually by scrolling. A layout pass is only needed, if other columns or
+     * rows became visible.
+     */
+    private void onViewportChanged()
+    {
+        if (updateVisibleTracks()) setNeedsLayout(true);
+    }
+
+    /**
+     * Finds the columns and rows that intersect the viewport, by a binary search over the grid lines of the last layout pass.
+     *
+     * @return True if the visible columns or rows changed, or if the tracks have not been laid out yet.
+     */
+    private boolean updateVisibleTracks()
+    {
+        // Validates the transform, so the next scroll is observed again.
+        getLocalToSceneTransform();
+        if (columnOffsets == null || rowOffsets == null) return true;
+        Bounds viewport = getViewport();
+        // The last visible track is the one in front of the first line behind the viewport.
+        int firstColumn = Math.max(searchLine(columnOffsets, viewport.getMinX()) - 1, 0);
+        int lastColumn  = Math.min(searchLine(columnOffsets, Math.nextUp(viewport.getMaxX())), columnOffsets.length - 1) - 1;
+        int firstRow    = Math.max(searchLine(rowOffsets, viewport.getMinY()) - 1, 0);
+        int lastRow     = Math.min(searchLine(rowOffsets, Math.nextUp(viewport.getMaxY())), rowOffsets.length - 1) - 1;
+        if (firstColumn == firstVisibleColumn && lastColumn == lastVisibleColumn && firstRow == firstVisibleRow && lastRow == lastVisibleRow)
+            return false;
+        firstVisibleColumn = firstColumn;
+        lastVisibleColumn  = lastColumn;
+        firstVisibleRow    = firstRow;
+        lastVisibleRow     = lastRow;
+        return true;
+    }
+
+    /**
+     * Returns the index of the first grid line at or behind a coordinate.
+     *
+     * @param lines The ascending grid lines.
+     * @param value The coordinate.
+     * @return The index of the line, the number of lines if all lines are in front of the coordinate.
+     */
+    static int searchLine(double[] lines, double value)
+    {
+        int low  = 0;
+        int high = lines.length;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (lines[middle] < value) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private boolean isInViewport(int index)
+    {
+        final int COLUMN = layoutColumnMap.toPosition(children.columns[index]);
+        final int ROW    = layoutRowMap.toPosition(children.rows[index]);
+        return COLUMN <= lastVisibleColumn && COLUMN + children.getColumnSpan(index) > firstVisibleColumn && ROW <= lastVisibleRow &&
+               ROW + children.getRowSpan(index) > firstVisibleRow;
+    }
+
+    /**
+     * Moves a culled child into the area of its cell, which is outside of the viewport, so the child is not rendered. The child is only resized if
+     * it does not fit into the area, it is laid out when it enters the viewport again. The visibility of the child is not changed.
+     *
+     * @param index The index of the child.
+     */
+    private void moveCulledChild(int index)
+    {
+        Node   child  = getChildren().get(index);
+        Bounds bounds = child.getLayoutBounds();
+        // The child no longer has the bounds of the last layout pass.
+        children.boundsX[index] = Double.NaN;
+        relocateCount++;
+        relocating = true;
+        try
+        {
+            if (bounds.getWidth() <= nodeArea.getWidth() && bounds.getHeight() <= nodeArea.getHeight())
+                child.relocate(nodeArea.getMinX(), nodeArea.getMinY());
+            else children.measurements[index].resizeRelocate(nodeArea.getMinX(), nodeArea.getMinY(), nodeArea.getWidth(), nodeArea.getHeight());
+        }
+        finally
+        {
+            relocating = false;
+        }
+    }
+
+    /**
+     * Creates the lazy cells whose area intersects the viewport and discards the cells that are farther away from it than the discard distance.
+     * The grid lines of the last layout pass are used.
+     *
+     * @return True if a cell has been created.
+     */
+    private boolean updateLazyCells()
+    {
+        if (!lazyCellsAdded) return false;
+        Bounds  viewport     = getViewport();
+        boolean materialized = false;
+        for (int i = 0; i < children.size; i++)
+        {
+            if (!(getChildren().get(i) instanceof TablePaneLazyCell)) continue;
+            TablePaneLazyCell cell = (TablePaneLazyCell) getChildren().get(i);
+            // The area of the cell is used, a culled cell may not have its final bounds.
+            calculateNodeArea(i);
+            double distance = Math.max(Math.max(viewport.getMinX() - nodeArea.getMaxX(), nodeArea.getMinX() - viewport.getMaxX()),
+                                       Math.max(viewport.getMinY() - nodeArea.getMaxY(), nodeArea.getMinY() - viewport.getMaxY()));
+            if (!cell.isMaterialized() && distance <= 0)
+            {
+                cell.materialize();
+                // A cell that has not been laid out yet does not report its layout request.
+                children.measurements[i].invalidate();
+                materialized = true;
+            }
+            else if (cell.isMaterialized() && distance > lazyDiscardDistance)
+            {
+                cell.discard();
+                children.measurements[i].invalidate();
+            }
+        }
+        // The size of this TablePane changes with the sizes of the created Nodes.
+        if (materialized) requestLayout();
+        return materialized;
+    }
+
+    /**
+     * Returns the visible area of the enclosing {@link ScrollPane} in the coordinates of this {@code TablePane}.
+     *
+     * @return The viewport, the bounds of this {@code TablePane} if there is no {@code ScrollPane}.
+     */
+    private Bounds getViewport()
+    {
+        if (pageViewport != null) return pageViewport;
+        for (Parent parent = getParent(); parent != null; parent = parent.getParent())
+            if (parent instanceof ScrollPane) return sceneToLocal(parent.localToScene(parent.getLayoutBounds()));
+        return getLayoutBounds();
+    }
+
+    /**
+     * Switches to the breakpoint of the current width, if it is not active yet. The layout uses the columns and rows of the breakpoint, with their
+     * positions as logical indices, because the cells of a template refer to positions. The cells are packed in place of the constraints of the
+     * children, without a layout request, while the own constraints stay bound to the children. The lists, logical indices and constraints of this
+     * {@code TablePane} are used again when no breakpoint is left.
+     */
+    private void applyBreakpoint()
+    {
+        if (breakpoints == null) return;
+        TablePaneTemplate layout = null;
+        if (!breakpoints.isEmpty())
+        {
+            Map.Entry<Double, TablePaneTemplate> entry = breakpoints.floorEntry(getWidth());
+            layout = entry != null ? entry.getValue() : breakpoints.firstEntry().getValue();
+        }
+        if (layout != activeBreakpoint)
+        {
+            activeBreakpoint       = layout;
+            layoutTemplate         = layout != null ? layout : template;
+            layoutColumnList       = layout != null ? layout.getColumnList() : columnList;
+            layoutRowList          = layout != null ? layout.getRowList() : rowList;
+            layoutColumnMap        = layout != null ? new TablePaneTrackMap() : columnMap;
+            layoutRowMap           = layout != null ? new TablePaneTrackMap() : rowMap;
+            breakpointCells        = layout != null ? layout.getCellList() : null;
+            breakpointCellsInvalid = true;
+            // The versions of different maps can not be compared.
+            columnMapStamp         = -1;
+            rowMapStamp            = -1;
+            // The measurements of the children stay valid, only their tracks are assigned again.
+            trackIndexInvalid      = true;
+            invalidateSizeCache();
+        }
+        if (!breakpointCellsInvalid) return;
+        breakpointCellsInvalid = false;
+        for (int i = 0; i < children.size; i++)
+            if (children.overlays[i] != getBreakpointCell(i)) applyConstraints(i, getOwnConstraints(i), true);
+    }
+
+    /**
+     * Returns the cell of the active breakpoint, that replaces the constraints of a child.
+     *
+     * @param index The index of the child.
+     * @return The cell, null if the own constraints of the child are used.
+     */
+    private TablePaneConstraints getBreakpointCell(int index)
+    {
+        return breakpointCells != null && index < breakpointCells.size() ? breakpointCells.get(index) : null;
+    }
+
+    /**
+     * Returns the own constraints of a child, regardless of a breakpoint cell.
+     *
+     * @param index The index of the child.
+     * @return The {@link TablePaneConstraints}.
+     */
+    private TablePaneConstraints getOwnConstraints(int index)
+    {
+        if (constraintsStorage == TablePaneConstraintsStorage.NODE) return getConstraints(getChildren().get(index));
+        return loadConstraints(index);
+    }
+
+    /**
+     * Commits a {@link TablePaneLayoutEvent}, if it is enabled. The fields of the event are only set if it is committed.
+     *
+     * @param event       The event.
+     * @param operation   The recorded operation.
+     * @param measures    The measurement counter at the start of the operation.
+     * @param relocations The relocation counter at the start of the operation.
+     */
+    private void commitEvent(TablePaneLayoutEvent event, String operation, long measures, long relocations)
+    {
+        if (!event.shouldCommit()) return;
+        event.operation       = operation;
+        event.paneId          = getId();
+        event.childCount      = children.size;
+        event.columnCount     = layoutColumnList.size();
+        event.rowCount        = layoutRowList.size();
+        event.prefSizeQueries = measureCount - measures;
+        event.nodesRelocated  = relocateCount - relocations;
+        event.commit();
+    }
+
+    /**
+     * Brings the child and track state up to date and calculates the content size of each dirty track. Nothing is done if the state is still valid,
+     * then the cached sizes are valid too.
+     */
+    private void prepareLayout()
+    {
+        if (isSizeCacheValid()) return;
+        // If only rows or columns have been modified since the last call, the children do not need to be checked.
+        boolean childrenValid = sizeCacheValid && !constraintsModified;
+        detachedConstraints = null;
+        synchronizeDefinitions();
+        if (trackIndexInvalid) rebuildTrackIndex();
+        if (!childrenValid)
+        {
+            updateChildren();
+            spannedChildrenInvalid = true;
+        }
+        calculateContentSizes();
+        // Released logical indices can only become unreferenced, if the tracks or the children have changed.
+        if ((!childrenValid || columnMapStamp != layoutColumnMap.getVersion() || rowMapStamp != layoutRowMap.getVersion()) &&
+            (columnMap.hasReleased() || rowMap.hasReleased())) recycleTracks();
+        // The solver expects the content sizes in the order of the tracks.
+        if (columnMapStamp != layoutColumnMap.getVersion()) columnsResizable = false;
+        if (rowMapStamp != layoutRowMap.getVersion()) rowsResizable = false;
+        orderedColumnWidths = layoutColumnMap.order(columnContentWidths, orderedColumnWidths);
+        orderedRowHeights   = layoutRowMap.order(rowContentHeights, orderedRowHeights);
+        columnMapStamp      = layoutColumnMap.getVersion();
+        rowMapStamp         = layoutRowMap.getVersion();
+        // The state is up to date, the sizes are computed again on demand.
+        prefWidthCache.clear();
+        prefHeightCache.clear();
+        minWidthCache.clear();
+        minHeightCache.clear();
+        maxWidthCache.clear();
+        maxHeightCache.clear();
+        sizeCacheValid      = true;
+        constraintsModified = false;
+        definitionsModified = false;
+    }
+
+    /**
+     * Checks if nothing has changed since the last call of {@link #prepareLayout()}. A layout request, a change of a child, a modified or replaced
+     * definition and a modified {@link TablePaneConstraints} instance invalidate the state. Only the definitions and constraints of this {@code
+     * TablePane} notify it about a modification.
+     *
+     * @return True if the state and the cached sizes are valid.
+     */
+    private boolean isSizeCacheValid()
+    {
+        if (!sizeCacheValid || constraintsModified || definitionsModified || columnMapStamp != layoutColumnMap.getVersion() ||
+            rowMapStamp != layoutRowMap.getVersion()) return false;
+        // A definition can be added, removed or replaced without a notification.
+        if (layoutColumnMap.size() != layoutColumnList.size() || layoutRowMap.size() != layoutRowList.size()) return false;
+        for (int i = 0; i < layoutColumnList.size(); i++)
+            if (layoutColumns[layoutColumnMap.toTrack(i)] != layoutColumnList.get(i)) return false;
+        for (int i = 0; i < layoutRowList.size(); i++)
+            if (layoutRows[layoutRowMap.toTrack(i)] != layoutRowList.get(i)) return false;
+        return true;
+    }
+
+    private void invalidateSizeCache()
+    {
+        sizeCacheValid = false;
+    }
+
+    private void onDefinitionModified()
+    {
+        definitionsModified = true;
+    }
+
+    private void onConstraintsModified()
+    {
+        constraintsModified = true;
+    }
+
+    @Override
+    public void requestLayout()
+    {
+        // A child that is relocated by the running layout pass does not need another pass.
+        if (relocating) return;
+        if (!trackLayoutRequested) invalidateSizeCache();
+        super.requestLayout();
+    }
+
+    /**
+     * Keeps the child state aligned with the children list. The state of moved children is kept, new children are marked as dirty. The tracks of
+     * removed children are marked as dirty.
+     *
+     * @param change The change of the children list.
+     */
+    private void onChildrenChanged(ListChangeListener.Change<? extends Node> change)
+    {
+        invalidateSizeCache();
+        // The breakpoint cells are assigned by index.
+        if (breakpointCells != null) breakpointCellsInvalid = true;
+        while (change.next())
+        {
+            if (change.wasPermutated())
+            {
+                children.permute(change.getFrom(), change.getTo(), change::getPermutation);
+                trackIndexInvalid = true;
+                childIndices      = null;
+                continue;
+            }
+            if (change.wasRemoved()) removeChildren(change.getFrom(), change.getRemoved());
+            if (change.wasAdded()) insertChildren(change.getFrom(), change.getAddedSubList());
+        }
+    }
+
+    private void removeChildren(int from, List<? extends Node> nodes)
+    {
+        final int count = nodes.size();
+        // Children behind the removed ones change their index.
+        if (from + count < children.size)
+        {
+            trackIndexInvalid = true;
+            childIndices      = null;
+        }
+        else if (childIndices != null) for (Node node : nodes) childIndices.remove(node);
+        for (int i = from; i < from + count; i++)
+        {
+            // The space of removed children must be released.
+            removeFromTracks(i);
+            children.measurements[i].unregister();
+            if (constraintsStorage == TablePaneConstraintsStorage.PANE)
+            {
+                if (detachedConstraints == null) detachedConstraints = new IdentityHashMap<>();
+                detachedConstraints.put(nodes.get(i - from), loadConstraints(i));
+            }
+            bindSource(i, null);
+        }
+        children.remove(from, count);
+    }
+
+    private void insertChildren(int from, List<? extends Node> nodes)
+    {
+        // Children behind the new ones change their index.
+        if (from < children.size)
+        {
+            trackIndexInvalid = true;
+            childIndices      = null;
+        }
+        children.insert(from, nodes.size());
+        Node node;
+        for (int i = from; i < from + nodes.size(); i++)
+        {
+            node                     = nodes.get(i - from);
+            if (childIndices != null) childIndices.put(node, i);
+            children.measurements[i] = new TablePaneChildMeasurement(node, sizeCacheListener);
+            children.measurements[i].register();
+            // A Node of the NODE storage is placed when its constraints are read.
+            if (constraintsStorage == TablePaneConstraintsStorage.PANE)
+            {
+                packInsertedChild(i, node, i - from);
+                addToTracks(i);
+            }
+        }
+    }
+
+    /**
+     * Packs the constraints of a child that has been inserted into a {@code TablePane} with the PANE storage. The constraints are taken from the
+     * committing batch, from the Node if it has been moved inside the children list, or from the properties of the Node if they have been set before
+     * the Node was added.
+     *
+     * @param index      The index of the child.
+     * @param node       The child.
+     * @param batchIndex The index of the child in the committing batch.
      */
-    public TablePane()
+    private void packInsertedChild(int index, Node node, int batchIndex)
     {
-        super();
+        if (committingBatch != null && batchIndex < committingBatch.getNodes().size() && committingBatch.getNodes().get(batchIndex) == node)
+        {
+            TablePaneConstraints constraints = committingBatch.getConstraints(batchIndex);
+            if (constraints != null && committingBatch.isPlaced(batchIndex))
+                children.pack(index, committingBatch.getCell(batchIndex, 0), committingBatch.getCell(batchIndex, 1), constraints);
+            else if (constraints != null) children.pack(index, constraints);
+            else children.pack(index, committingBatch.getCell(batchIndex, 0), committingBatch.getCell(batchIndex, 1),
+                               committingBatch.getCell(batchIndex, 2), committingBatch.getCell(batchIndex, 3));
+            return;
+        }
+        TablePaneConstraints constraints = detachedConstraints == null ? null : detachedConstraints.remove(node);
+        if (constraints != null)
+        {
+            children.pack(index, constraints);
+            bindSource(index, constraints);
+            children.versions[index] = constraints.getVersion();
+            return;
+        }
+        Object value = node.hasProperties() ? node.getProperties().get(TABLE_PANE_CONSTRAINTS_KEY) : null;
+        children.pack(index, value instanceof TablePaneConstraints ? (TablePaneConstraints) value : TablePaneConstraints.getNullConstraints());
     }
 
     /**
-     * Creates a new instance of {@code TablePane} with the defined columns and rows.
+     * Compares the columns and rows with the last layout pass and marks replaced or modified definitions as dirty. The state of a track is stored at
+     * its logical index, so a moved definition is not dirty.
+     */
+    private void synchronizeDefinitions()
+    {
+        layoutColumnMap.synchronize(layoutColumnList.size());
+        layoutRowMap.synchronize(layoutRowList.size());
+        final int COLUMN_COUNT = layoutColumnMap.getLogicalCount();
+        final int ROW_COUNT    = layoutRowMap.getLogicalCount();
+        if (layoutColumns.length != COLUMN_COUNT)
+        {
+            // New logical indices are appended, the state of the existing tracks is kept.
+            layoutColumns       = Arrays.copyOf(layoutColumns, COLUMN_COUNT);
+            columnVersions      = Arrays.copyOf(columnVersions, COLUMN_COUNT);
+            columnDirty         = Arrays.copyOf(columnDirty, COLUMN_COUNT);
+            columnContentWidths = Arrays.copyOf(columnContentWidths, COLUMN_COUNT);
+            if (!columnIndex.grow(COLUMN_COUNT)) trackIndexInvalid = true;
+        }
+        if (layoutRows.length != ROW_COUNT)
+        {
+            layoutRows        = Arrays.copyOf(layoutRows, ROW_COUNT);
+            rowVersions       = Arrays.copyOf(rowVersions, ROW_COUNT);
+            rowDirty          = Arrays.copyOf(rowDirty, ROW_COUNT);
+            rowContentHeights = Arrays.copyOf(rowContentHeights, ROW_COUNT);
+            if (!rowIndex.grow(ROW_COUNT)) trackIndexInvalid = true;
+        }
+        TablePaneDefinition definition;
+        int                 track;
+        boolean             resizable = false;
+        for (int i = 0; i < layoutColumnList.size(); i++)
+        {
+            definition = layoutColumnList.get(i);
+            track      = layoutColumnMap.toTrack(i);
+            resizable |= definition.isResizable();
+            if (definition == layoutColumns[track] && definition.getVersion() == columnVersions[track]) continue;
+            if (definition != layoutColumns[track]) replaceOwner(layoutColumns[track], definition);
+            layoutColumns[track]  = definition;
+            columnVersions[track] = definition.getVersion();
+            columnDirty[track]    = true;
+        }
+        for (int i = 0; i < layoutRowList.size(); i++)
+        {
+            definition = layoutRowList.get(i);
+            track      = layoutRowMap.toTrack(i);
+            resizable |= definition.isResizable();
+            if (definition == layoutRows[track] && definition.getVersion() == rowVersions[track]) continue;
+            if (definition != layoutRows[track]) replaceOwner(layoutRows[track], definition);
+            layoutRows[track]  = definition;
+            rowVersions[track] = definition.getVersion();
+            rowDirty[track]    = true;
+        }
+        // Only the own rows and columns of this TablePane can be resized.
+        updateResizeHandler(resizable && activeBreakpoint == null);
+    }
+
+    /**
+     * Registers this {@code TablePane} at a definition, that replaces another one in a track.
      *
-     * @param tablePaneDefinitions The columns and rows of the {@code TablePane}. You should pass instances of {@link TablePaneColumn} and {@link
-     *                             TablePaneRow}.
+     * @param previous   The replaced definition, may be null.
+     * @param definition The new definition.
      */
-    public TablePane(TablePaneDefinition... tablePaneDefinitions)
+    private void replaceOwner(TablePaneDefinition previous, TablePaneDefinition definition)
     {
-        super();
-        for (TablePaneDefinition def : tablePaneDefinitions)
-            if (def instanceof TablePaneColumn) columnList.add(def);
-            else if (def instanceof TablePaneRow) rowList.add(def);
-            else if (columnList.size() > rowList.size()) rowList.add(def);
-            else columnList.add(def);
+        if (previous != null) previous.removeOwner(definitionsListener);
+        definition.addOwner(definitionsListener);
+    }
+
+    /**
+     * Recycles the released logical indices of the own columns and rows, that no child refers to, and releases the definitions of the removed
+     * tracks. So the per-track state does not grow with the number of inserted and removed columns or rows.<br> It is called by a layout pass and
+     * by an insert, once more logical indices have been released than there are tracks, because the children can be modified in between.
+     */
+    private void recycleTracks()
+    {
+        final BitSet         COLUMNS = new BitSet();
+        final BitSet         ROWS    = new BitSet();
+        TablePaneConstraints constraints;
+        int                  column;
+        int                  row;
+        for (int i = 0; i < children.size; i++)
+        {
+            // Children of the NODE storage are packed by the layout pass, a breakpoint cell is packed in place of the own constraints.
+            if (constraintsStorage == TablePaneConstraintsStorage.NODE) constraints = getOwnConstraints(i);
+            else constraints = children.overlays[i] != null ? children.sources[i] : null;
+            column = constraints != null ? constraints.getColumnIndex() : children.columns[i];
+            row    = constraints != null ? constraints.getRowIndex() : children.rows[i];
+            if (columnMap.isReleased(column)) COLUMNS.set(column);
+            if (rowMap.isReleased(row)) ROWS.set(row);
+        }
+        // The definitions of the own tracks are only held while no breakpoint is active.
+        if (activeBreakpoint == null)
+        {
+            releaseDefinitions(layoutColumns, columnMap);
+            releaseDefinitions(layoutRows, rowMap);
+        }
+        columnMap.recycle(COLUMNS);
+        rowMap.recycle(ROWS);
+    }
+
+    private void releaseDefinitions(TablePaneDefinition[] definitions, TablePaneTrackMap map)
+    {
+        for (int track = 0; track < definitions.length; track++)
+        {
+            if (definitions[track] == null || map.isUsed(track)) continue;
+            definitions[track].removeOwner(definitionsListener);
+            definitions[track] = null;
+        }
+    }
 
+    private void rebuildTrackIndex()
+    {
+        trackIndexInvalid = false;
+        columnIndex.reset(layoutColumnMap.getLogicalCount());
+        rowIndex.reset(layoutRowMap.getLogicalCount());
+        for (int i = 0; i < children.size; i++)
+        {
+            columnIndex.add(children.getContentColumn(i), i);
+            rowIndex.add(children.getContentRow(i), i);
+        }
     }
 
     /**
-     * Adds a children to this {@code TablePane} with the given {@link TablePaneConstraints}.
-     *
-     * @param child       The child that should be added.
-     * @param constraints The {@code TablePaneConstraints}.
-     * @return An instance of this {@code TablePane}.
+     * Detects children with replaced or modified constraints, a changed visibility or managed state or a requested layout. These children are
+     * measured again and their tracks are marked as dirty.
      */
-    public TablePane add(Node child, TablePaneConstraints constraints)
+    private void updateChildren()
     {
-        setConstraints(child, constraints);
-        getChildren().add(child);
-        return this;
+        List<Node>           nodes         = getChildren();
+        Node                 child;
+        TablePaneConstraints constraints;
+        TablePane[]          lastSubgrids  = subgrids;
+        int[]                lastIndices   = subgridIndices;
+        int[]                lastModes     = subgridModes;
+        int                  lastCount     = subgridCount;
+        boolean              measured;
+        // The subgrids of the last check are kept for the comparison.
+        if (lastCount > 0)
+        {
+            subgrids       = new TablePane[lastCount];
+            subgridIndices = new int[lastCount];
+            subgridModes   = new int[lastCount];
+        }
+        subgridCount = 0;
+        for (int i = 0; i < children.size; i++)
+        {
+            child    = nodes.get(i);
+            measured = false;
+            // A Node that stores its own constraints can replace them at any time, a bound instance can only be modified.
+            if (constraintsStorage == TablePaneConstraintsStorage.NODE)
+            {
+                constraints = getConstraints(child);
+                if (constraints != children.sources[i] || constraints.getVersion() != children.versions[i]) applyConstraints(i, constraints, true);
+            }
+            else
+            {
+                constraints = children.sources[i];
+                if (constraints != null && constraints.getVersion() != children.versions[i]) applyConstraints(i, constraints, true);
+            }
+            if ((child.isVisible() && child.isManaged()) != children.included[i])
+            {
+                children.included[i] = !children.included[i];
+                children.dirty[i]    = true;
+                // The bounds of an excluded child may have been changed by someone else.
+                children.boundsX[i]  = Double.NaN;
+            }
+            // A child is only measured again if it requested a layout since the last measurement. Excluded children are not measured at all.
+            if (children.included[i] && children.measurements[i].isValid()) measureCacheHitCount++;
+            else if (children.included[i])
+            {
+                measureCount++;
+                measured = true;
+                double prefWidth  = getPrefWidth(child);
+                double prefHeight = getPrefHeight(child);
+                children.measurements[i].validate();
+                if (prefWidth != children.prefWidths[i] || prefHeight != children.prefHeights[i])
+                {
+                    children.prefWidths[i]  = prefWidth;
+                    children.prefHeights[i] = prefHeight;
+                    children.dirty[i]       = true;
+                }
+            }
+            if (children.dirty[i]) markTracksDirty(children.getContentColumn(i), children.getContentRow(i));
+            if (child instanceof TablePane && (((TablePane) child).subgridColumns || ((TablePane) child).subgridRows))
+                addSubgrid(i, (TablePane) child, children.dirty[i] || measured);
+        }
+        // The tracks of a subgrid that has been removed, moved or changed its mode must be calculated again, that is rare enough to check all tracks.
+        if (lastCount != subgridCount || !Arrays.equals(lastSubgrids, 0, lastCount, subgrids, 0, subgridCount) ||
+            !Arrays.equals(lastIndices, 0, lastCount, subgridIndices, 0, subgridCount) ||
+            !Arrays.equals(lastModes, 0, lastCount, subgridModes, 0, subgridCount))
+        {
+            Arrays.fill(columnDirty, true);
+            Arrays.fill(rowDirty, true);
+        }
     }
 
     /**
-     * Adds a {@link TablePaneDefinition} as a row to this {@link TablePane}. The same {@link TablePaneDefinition} can be added multiple times to this
-     * {@link TablePane}.
+     * Registers a child that is a subgrid. The tracks it spans are marked as dirty, if the content of the subgrid may have changed.
      *
-     * @param definition The {@link TablePaneDefinition}
-     * @return An instance of this {@code TablePane}.
+     * @param index   The index of the child.
+     * @param subgrid The child.
+     * @param changed True if the child has been measured or is dirty.
      */
-    public TablePane addRow(TablePaneDefinition definition)
+    private void addSubgrid(int index, TablePane subgrid, boolean changed)
     {
-        rowList.add(definition);
-        return this;
+        if (subgridCount == subgrids.length)
+        {
+            final int CAPACITY = Math.max(4, subgridCount * 2);
+            subgrids       = Arrays.copyOf(subgrids, CAPACITY);
+            subgridIndices = Arrays.copyOf(subgridIndices, CAPACITY);
+            subgridModes   = Arrays.copyOf(subgridModes, CAPACITY);
+        }
+        subgrids[subgridCount]       = subgrid;
+        subgridIndices[subgridCount] = index;
+        subgridModes[subgridCount]   = (subgrid.subgridColumns ? 1 : 0) | (subgrid.subgridRows ? 2 : 0);
+        subgridCount++;
+        // The content of a subgrid can change without a change of its preferred size.
+        if (!changed) return;
+        if (subgrid.subgridColumns) markSpanDirty(layoutColumnMap, columnDirty, children.columns[index], children.getColumnSpan(index));
+        if (subgrid.subgridRows) markSpanDirty(layoutRowMap, rowDirty, children.rows[index], children.getRowSpan(index));
+    }
+
+    private static void markSpanDirty(TablePaneTrackMap map, boolean[] dirty, int track, int span)
+    {
+        final int START = map.toPosition(track);
+        for (int position = Math.max(START, 0); position < Math.min(START + span, map.size()); position++) dirty[map.toTrack(position)] = true;
     }
 
     /**
-     * Adds a {@link TablePaneDefinition} as a column to this {@link TablePane}. The same {@code TablePaneDefinition} can be added multiple times to
-     * this {@link TablePane}.
+     * Packs the given {@link TablePaneConstraints} into the slot of a child. The old and the new tracks of the child are marked as dirty.
      *
-     * @param definition The {@code TablePaneDefinition}
-     * @return An instance of this {@code TablePane}.
+     * @param index       The index of the child.
+     * @param constraints The {@code TablePaneConstraints}.
+     * @param bind        True if changes of the instance should be observed.
      */
-    public TablePane addColumn(TablePaneDefinition definition)
+    private void applyConstraints(int index, TablePaneConstraints constraints, boolean bind)
     {
-        columnList.add(definition);
-        return this;
+        invalidateSizeCache();
+        removeFromTracks(index);
+        // A breakpoint cell is packed instead, the own constraints are kept as a bound instance until they are packed again.
+        TablePaneConstraints cell = getBreakpointCell(index);
+        if (cell != null && !bind) constraints = new TablePaneConstraints(constraints);
+        children.pack(index, cell != null ? cell : constraints);
+        children.overlays[index] = cell;
+        bindSource(index, bind || cell != null ? constraints : null);
+        children.versions[index] = constraints.getVersion();
+        addToTracks(index);
     }
 
     /**
-     * Sets the {@link TablePaneConstraints} of the given {@link Node}.
+     * Binds a {@link TablePaneConstraints} instance to the slot of a child, so its modifications are observed. The instance that has been bound
+     * before is released.
      *
-     * @param node        The {@code Node}.
-     * @param constraints The {@code Node's} {@code TablePaneConstraints}.
+     * @param index       The index of the child.
+     * @param constraints The {@code TablePaneConstraints}, null if no instance should be bound.
      */
-    public static void setConstraints(Node node, TablePaneConstraints constraints)
+    private void bindSource(int index, TablePaneConstraints constraints)
+    {
+        TablePaneConstraints previous = children.sources[index];
+        if (previous == constraints) return;
+        if (previous != null) previous.removeOwner(constraintsListener);
+        if (constraints != null) constraints.addOwner(constraintsListener);
+        children.sources[index] = constraints;
+    }
+
+    private void removeFromTracks(int index)
+    {
+        int column = children.getContentColumn(index);
+        int row    = children.getContentRow(index);
+        markTracksDirty(column, row);
+        columnIndex.remove(column, index);
+        rowIndex.remove(row, index);
+    }
+
+    private void addToTracks(int index)
+    {
+        int column = children.getContentColumn(index);
+        int row    = children.getContentRow(index);
+        markTracksDirty(column, row);
+        columnIndex.add(column, index);
+        rowIndex.add(row, index);
+        children.dirty[index] = true;
+    }
+
+    private void markTracksDirty(int column, int row)
+    {
+        if (column >= 0 && column < columnDirty.length) columnDirty[column] = true;
+        if (row >= 0 && row < rowDirty.length) rowDirty[row] = true;
+    }
+
+    /**
+     * Calculates the space the children require in each dirty column and row. Only children with a span of one are taken into account.
+     */
+    private void calculateContentSizes()
     {
-        if (constraints == null) node.getProperties().remove(TABLE_PANE_CONSTRAINTS_KEY);
-        else node.getProperties().put(TABLE_PANE_CONSTRAINTS_KEY, constraints);
+        int[]  members;
+        int    child;
+        double preferredChildSize;
+        for (int column = 0; column < columnDirty.length; column++)
+        {
+            if (!columnDirty[column]) continue;
+            columnDirty[column] = false;
+            columnsResizable    = false;
+            columnContentWidths[column] = 0;
+            members = columnIndex.get(column);
+            for (int i = 0, size = columnIndex.size(column); i < size; i++)
+            {
+                child = members[i];
+                // If the child is not visible or not managed it is not valid.
+                if (!children.included[child]) continue;
+                // Calculate the child pref width with insets - the space that is necessary for the node to be represented right.
+                preferredChildSize = children.prefWidths[child] + children.getInsetLeft(child) + children.getInsetRight(child);
+                if (columnContentWidths[column] < preferredChildSize) columnContentWidths[column] = preferredChildSize;
+            }
+            // Subgrids add the content of their own columns.
+            for (int i = 0; i < subgridCount; i++)
+            {
+                preferredChildSize = getSubgridContentSize(i, column, true);
+                if (columnContentWidths[column] < preferredChildSize) columnContentWidths[column] = preferredChildSize;
+            }
+        }
+        for (int row = 0; row < rowDirty.length; row++)
+        {
+            if (!rowDirty[row]) continue;
+            rowDirty[row]  = false;
+            rowsResizable  = false;
+            rowContentHeights[row] = 0;
+            members = rowIndex.get(row);
+            for (int i = 0, size = rowIndex.size(row); i < size; i++)
+            {
+                child = members[i];
+                if (!children.included[child]) continue;
+                preferredChildSize = children.prefHeights[child] + children.getInsetTop(child) + children.getInsetBottom(child);
+                if (rowContentHeights[row] < preferredChildSize) rowContentHeights[row] = preferredChildSize;
+            }
+            for (int i = 0; i < subgridCount; i++)
+            {
+                preferredChildSize = getSubgridContentSize(i, row, false);
+                if (rowContentHeights[row] < preferredChildSize) rowContentHeights[row] = preferredChildSize;
+            }
+        }
     }
 
     /**
-     * Returns the {@link TablePaneConstraints} of the given {@link Node}.
+     * Returns the space a subgrid requires in one of the tracks it spans. It is the content size of the matching track of the subgrid, the first and
+     * last track include the insets of the subgrid.
      *
-     * @param node The {@code Node}.
-     * @return The {@code Node's}  {@code TablePaneConstraints}. If the don't exist, a shared instance of {@code TablePaneConstraints} is returned.
+     * @param subgrid    The index of the subgrid.
+     * @param track      The logical index of the track of this {@code TablePane}.
+     * @param horizontal True if the track is a column.
+     * @return The content size, zero if the subgrid does not span the track.
      */
-    public static TablePaneConstraints getConstraints(Node node)
+    private double getSubgridContentSize(int subgrid, int track, boolean horizontal)
     {
-        if (node.hasProperties())
+        TablePane pane  = subgrids[subgrid];
+        final int INDEX = subgridIndices[subgrid];
+        if (!children.included[INDEX] || !(horizontal ? pane.subgridColumns : pane.subgridRows)) return 0;
+        final int SPAN  = horizontal ? children.getColumnSpan(INDEX) : children.getRowSpan(INDEX);
+        final int LOCAL = horizontal ? layoutColumnMap.toPosition(track) - layoutColumnMap.toPosition(children.columns[INDEX])
+                                     : layoutRowMap.toPosition(track) - layoutRowMap.toPosition(children.rows[INDEX]);
+        if (LOCAL < 0 || LOCAL >= SPAN) return 0;
+        // The subgrid measures its children, this TablePane solves the sizes of both.
+        pane.prepareLayout();
+        double[] contentSizes = horizontal ? pane.orderedColumnWidths : pane.orderedRowHeights;
+        double   size         = LOCAL < contentSizes.length ? contentSizes[LOCAL] : 0;
+        Insets   insets       = pane.getInsets();
+        if (LOCAL == 0) size += horizontal ? insets.getLeft() + children.getInsetLeft(INDEX) : insets.getTop() + children.getInsetTop(INDEX);
+        if (LOCAL == SPAN - 1)
+            size += horizontal ? insets.getRight() + children.getInsetRight(INDEX) : insets.getBottom() + children.getInsetBottom(INDEX);
+        return size;
+    }
+
+    private static int firstChangedIndex(double[] previous, double[] current)
+    {
+        if (previous == null || previous.length != current.length) return 0;
+        for (int i = 0; i < current.length; i++)
+            if (previous[i] != current[i]) return i;
+        return Integer.MAX_VALUE;
+    }
+
+    private void calculateNodeBounds(int index)
+    {
+        calculateNodeBounds(nodeArea, children.prefWidths[index], children.prefHeights[index], children.getFillMode(index), children.getHpos(index),
+                            children.getVpos(index), nodeBounds);
+        final double WIDTH  = children.boundsWidths[index];
+        final double HEIGHT = children.boundsHeights[index];
+        // A child whose bounds did not change is not touched, resizing it would lay out its own children again.
+        if (children.updateBounds(index, nodeBounds))
         {
-            Object value = node.getProperties().get(TABLE_PANE_CONSTRAINTS_KEY);
-            if (value == null) return TablePaneConstraints.getNullConstraints();
-            if (value instanceof TablePaneConstraints) return (TablePaneConstraints) value;
+            relocateCount++;
+            relocating = true;
+            try
+            {
+                children.measurements[index].resizeRelocate(nodeBounds.getMinX(), nodeBounds.getMinY(), nodeBounds.getWidth(), nodeBounds.getHeight());
+            }
+            finally
+            {
+                relocating = false;
+            }
+            // The preferred size of a content biased child depends on its current size, the resize does not invalidate its measurement.
+            Orientation bias = getChildren().get(index).getContentBias();
+            if (bias == Orientation.HORIZONTAL ? WIDTH != nodeBounds.getWidth() : bias == Orientation.VERTICAL && HEIGHT != nodeBounds.getHeight())
+                remeasure(index);
         }
-        return TablePaneConstraints.getNullConstraints();
     }
 
     /**
-     * Returns a list with instances of {@link TablePaneDefinition} who act as a row.
+     * Measures a content biased child again, after its width or height has been changed. If its preferred size changed, its tracks are calculated
+     * again in another pass.
      *
-     * @return A list with instances of {@link TablePaneDefinition}.
+     * @param index The index of the child.
      */
-    public List<TablePaneDefinition> getRowList()
+    private void remeasure(int index)
     {
-        return rowList;
+        Node child = getChildren().get(index);
+        measureCount++;
+        double prefWidth  = getPrefWidth(child);
+        double prefHeight = getPrefHeight(child);
+        if (prefWidth == children.prefWidths[index] && prefHeight == children.prefHeights[index]) return;
+        children.prefWidths[index]  = prefWidth;
+        children.prefHeights[index] = prefHeight;
+        children.dirty[index]       = true;
+        markTracksDirty(children.getContentColumn(index), children.getContentRow(index));
+        invalidateSizeCache();
+        remeasured = true;
     }
 
     /**
-     * Returns a list with instances of {@link TablePaneDefinition} who act as a column.
+     * Passes the grid lines of this pass to a child, if it is a subgrid. The subgrid lays out its children in the next pass, even if its size did
+     * not change.
      *
-     * @return A list with instances of {@link TablePaneDefinition}.
+     * @param index The index of the child.
      */
-    public List<TablePaneDefinition> getColumnList()
+    private void layoutSubgrid(int index)
     {
-        return columnList;
+        final int SUBGRID = Arrays.binarySearch(subgridIndices, 0, subgridCount, index);
+        if (SUBGRID < 0) return;
+        TablePane pane = subgrids[SUBGRID];
+        pane.subgridParent      = this;
+        pane.subgridColumnLines = pane.subgridColumns ? getSubgridLines(columnOffsets, layoutColumnMap.toPosition(children.columns[index]),
+                                                                        children.getColumnSpan(index), pane.getLayoutX(),
+                                                                        pane.subgridColumnLines) : null;
+        pane.subgridRowLines    = pane.subgridRows ? getSubgridLines(rowOffsets, layoutRowMap.toPosition(children.rows[index]), children.getRowSpan(index),
+                                                                     pane.getLayoutY(), pane.subgridRowLines) : null;
+        relocating = true;
+        try
+        {
+            children.measurements[index].runWithoutInvalidation(pane::requestTrackLayout);
+        }
+        finally
+        {
+            relocating = false;
+        }
     }
 
-    /* ******************************************************************************
-     *                                                                             *
-     * Layout Calculation
-     *                                                                             *
-     ******************************************************************************/
+    /**
+     * Returns the grid lines of the tracks a subgrid spans, relative to the subgrid.
+     *
+     * @param offsets The offsets of the tracks of this {@code TablePane}.
+     * @param start   The position of the first spanned track.
+     * @param span    The number of spanned tracks.
+     * @param origin  The position of the subgrid.
+     * @param reuse   The array to reuse, may be null.
+     * @return The grid lines, with a length of the spanned track count plus one.
+     */
+    private static double[] getSubgridLines(double[] offsets, int start, int span, double origin, double[] reuse)
+    {
+        final int TRACK_COUNT = offsets.length - 1;
+        final int FIRST       = Math.min(Math.max(start, 0), TRACK_COUNT);
+        final int LAST        = Math.min(Math.max(start + span, FIRST), TRACK_COUNT);
+        double[]  lines       = reuse != null && reuse.length == LAST - FIRST + 1 ? reuse : new double[LAST - FIRST + 1];
+        for (int i = 0; i < lines.length; i++) lines[i] = offsets[FIRST + i] - origin;
+        return lines;
+    }
 
-    @Override
-    protected void layoutChildren()
+    /**
+     * Calculates the track sizes of a subgrid from the grid lines of its parent. The first and the last track end at the insets of the subgrid.
+     *
+     * @param lines The grid lines of the parent.
+     * @param start The start of the content of the subgrid.
+     * @param end   The end of the content of the subgrid.
+     * @param reuse The array to reuse, may be null.
+     * @return The track sizes.
+     */
+    private static double[] getSubgridSizes(double[] lines, double start, double end, double[] reuse)
     {
-        // Calculate Columns and Rows sizes
-        calculateColumnWidths();
-        calculateRowHeights();
-        TablePaneConstraints constraints;
-        for (Node child : getChildren())
+        final int TRACK_COUNT = lines.length - 1;
+        double[]  sizes       = reuse != null && reuse.length == TRACK_COUNT ? reuse : new double[TRACK_COUNT];
+        for (int i = 0; i < TRACK_COUNT; i++)
         {
-            constraints = getConstraints(child);
-            calculateNodeArea(constraints);
-            calculateNodeBounds(child, constraints);
+            double from = i == 0 ? start : lines[i];
+            double to   = i == TRACK_COUNT - 1 ? end : lines[i + 1];
+            sizes[i] = Math.max(to - from, 0);
         }
+        return sizes;
     }
 
-    private void calculateNodeBounds(Node child, TablePaneConstraints constraints)
+    /**
+     * Calculates the bounds of a Node inside of its area, depending on its {@link FillMode} and anchor.
+     *
+     * @param nodeArea   The area of the Node, with the insets applied.
+     * @param prefWidth  The preferred width of the Node.
+     * @param prefHeight The preferred height of the Node.
+     * @param fillMode   The {@code FillMode}.
+     * @param hpos       The horizontal anchor.
+     * @param vpos       The vertical anchor.
+     * @param nodeBounds The result.
+     */
+    static void calculateNodeBounds(WriteableRectangle2D nodeArea, double prefWidth, double prefHeight, FillMode fillMode, HPos hpos, VPos vpos,
+                                    WriteableRectangle2D nodeBounds)
     {
-        // System.out.println("NodeArea: " + nodeArea);
-
-        if (constraints.isSizingBoth()) nodeBounds.setBounds(nodeArea.getMinX(), nodeArea.getMinY(), nodeArea.getWidth(), nodeArea.getHeight());
-        else if (constraints.isSizingHorizontal())
+        if (fillMode == FillMode.BOTH) nodeBounds.setBounds(nodeArea.getMinX(), nodeArea.getMinY(), nodeArea.getWidth(), nodeArea.getHeight());
+        else if (fillMode.isHorizontal())
         {
             nodeBounds.setWidth(nodeArea.getWidth());
-            nodeBounds.setHeight(Math.min(nodeArea.getHeight(), getPrefHeight(child)));
+            nodeBounds.setHeight(Math.min(nodeArea.getHeight(), prefHeight));
             nodeBounds.setMinX(nodeArea.getMinX());
             // Anchors
-            if (constraints.isAnchorTop()) nodeBounds.setMinY(nodeArea.getMinY());
-            else if (constraints.isAnchorBottom()) nodeBounds.setMinY(nodeArea.getMaxY() - nodeBounds.getHeight());
+            if (vpos == VPos.TOP) nodeBounds.setMinY(nodeArea.getMinY());
+            else if (vpos == VPos.BOTTOM) nodeBounds.setMinY(nodeArea.getMaxY() - nodeBounds.getHeight());
             else nodeBounds.setMinY(nodeArea.getHeight() / 2 - nodeBounds.getHeight() / 2 + nodeArea.getMinY());
 
         }
-        else if (constraints.isSizingVertical())
+        else if (fillMode.isVertical())
         {
             nodeBounds.setHeight(nodeArea.getHeight());
-            nodeBounds.setWidth(Math.min(nodeArea.getWidth(), getPrefWidth(child)));
+            nodeBounds.setWidth(Math.min(nodeArea.getWidth(), prefWidth));
             nodeBounds.setMinY(nodeArea.getMinY());
             // Anchors
-            if (constraints.isAnchorLeft()) nodeBounds.setMinX(nodeArea.getMinX());
-            else if (constraints.isAnchorRight()) nodeBounds.setMinX(nodeArea.getMaxX() - nodeBounds.getWidth());
+            if (hpos == HPos.LEFT) nodeBounds.setMinX(nodeArea.getMinX());
+            else if (hpos == HPos.RIGHT) nodeBounds.setMinX(nodeArea.getMaxX() - nodeBounds.getWidth());
             else nodeBounds.setMinX(nodeArea.getWidth() / 2 - nodeBounds.getWidth() / 2 + nodeArea.getMinX());
 
         }
         else
         {
-            nodeBounds.setHeight(Math.min(nodeArea.getHeight(), getPrefHeight(child)));
-            nodeBounds.setWidth(Math.min(nodeArea.getWidth(), getPrefWidth(child)));
+            nodeBounds.setHeight(Math.min(nodeArea.getHeight(), prefHeight));
+            nodeBounds.setWidth(Math.min(nodeArea.getWidth(), prefWidth));
             // Anchors
-            if (constraints.isAnchorLeft()) nodeBounds.setMinX(nodeArea.getMinX());
-            else if (constraints.isAnchorRight()) nodeBounds.setMinX(nodeArea.getMaxX() - nodeBounds.getWidth());
+            if (hpos == HPos.LEFT) nodeBounds.setMinX(nodeArea.getMinX());
+            else if (hpos == HPos.RIGHT) nodeBounds.setMinX(nodeArea.getMaxX() - nodeBounds.getWidth());
             else nodeBounds.setMinX(nodeArea.getWidth() / 2 - nodeBounds.getWidth() / 2 + nodeArea.getMinX());
-            if (constraints.isAnchorTop()) nodeBounds.setMinY(nodeArea.getMinY());
-            else if (constraints.isAnchorBottom()) nodeBounds.setMinY(nodeArea.getMaxY() - nodeBounds.getHeight());
+            if (vpos == VPos.TOP) nodeBounds.setMinY(nodeArea.getMinY());
+            else if (vpos == VPos.BOTTOM) nodeBounds.setMinY(nodeArea.getMaxY() - nodeBounds.getHeight());
             else nodeBounds.setMinY(nodeArea.getHeight() / 2 - nodeBounds.getHeight() / 2 + nodeArea.getMinY());
         }
+    }
 
-        //  System.out.println("NodeBound: " + nodeBounds);
-
-        child.resizeRelocate(nodeBounds.getMinX(), nodeBounds.getMinY(), nodeBounds.getWidth(), nodeBounds.getHeight());
-
+    /**
+     * Calculates the prefix sums of the given track sizes. Each offset is snapped to a pixel, the sum itself is not rounded to avoid a drift on
+     * many tracks. The returned array is the given array, if it has the right length.
+     *
+     * @param sizes      The sizes of the tracks.
+     * @param offsets    The array of the last pass.
+     * @param origin     The offset of the first track.
+     * @param horizontal True if the tracks are columns.
+     * @return The offsets, with a length of the track count plus one.
+     */
+    private double[] calculateOffsets(double[] sizes, double[] offsets, double origin, boolean horizontal)
+    {
+        offsets = TableLayoutSolver.calculateOffsets(sizes, origin, offsets);
+        for (int i = 0; i < offsets.length; i++) offsets[i] = horizontal ? snapPositionX(offsets[i]) : snapPositionY(offsets[i]);
+        return offsets;
     }
 
-    private void calculateNodeArea(TablePaneConstraints constraints)
+    private void calculateNodeArea(int index)
     {
-        int x = 0, y = 0, w = 0, h = 0;
-        // Calculate aX
-        for (int i = 0; i < constraints.getColumnIndex(); i++) x += columnWidths[i];
-        // Calculate aW
-        for (int ax = 0, i = constraints.getColumnIndex(); ax < constraints.getColumnSpan(); i++, ax++) w += columnWidths[i];
-        // Calculate aY
-        for (int i = 0; i < constraints.getRowIndex(); i++) y += rowHeights[i];
-        // Calculate aH
-        for (int ay = 0, i = constraints.getRowIndex(); ay < constraints.getRowSpan(); i++, ay++) h += rowHeights[i];
-        // Calculate insets
-        x += constraints.getInsetLeft();
-        w -= constraints.getInsetLeft() + constraints.getInsetRight();
-        y += constraints.getInsetTop();
-        h -= constraints.getInsetTop() + constraints.getInsetRight();
+        // Clamp the cell to the existing tracks, the area of a Node outside of the grid is empty.
+        final int COLUMN_COUNT = columnOffsets.length - 1;
+        final int ROW_COUNT    = rowOffsets.length - 1;
+        final int COLUMN       = layoutColumnMap.toPosition(children.columns[index]);
+        final int ROW          = layoutRowMap.toPosition(children.rows[index]);
+        int       startColumn  = Math.min(Math.max(COLUMN, 0), COLUMN_COUNT);
+        int       endColumn    = Math.min(Math.max(COLUMN + children.getColumnSpan(index), startColumn), COLUMN_COUNT);
+        int       startRow     = Math.min(Math.max(ROW, 0), ROW_COUNT);
+        int       endRow       = Math.min(Math.max(ROW + children.getRowSpan(index), startRow), ROW_COUNT);
+        // Calculate the area and apply the insets.
+        double x = columnOffsets[startColumn] + children.getInsetLeft(index);
+        double w = columnOffsets[endColumn] - columnOffsets[startColumn] - children.getInsetLeft(index) - children.getInsetRight(index);
+        double y = rowOffsets[startRow] + children.getInsetTop(index);
+        double h = rowOffsets[endRow] - rowOffsets[startRow] - children.getInsetTop(index) - children.getInsetBottom(index);
         // Additional bounds check, if the width is zero and the inset is positive, a negative width is calculated.
         if (w < 0) w = 0;
         if (h < 0) h = 0;
         nodeArea.setBounds(x, y, w, h);
     }
 
-    private double getPrefWidth(Node child)
+    static double getPrefWidth(Node child)
     {
         if (child instanceof Control)
         {
@@ -254,11 +2450,11 @@ public class TablePane extends Pane
             if (control.getPrefWidth() == USE_COMPUTED_SIZE) return control.prefWidth(control.getHeight()) * SIZE_MODIFIER;
             return ((Control) child).getPrefWidth() * SIZE_MODIFIER;
         }
-        else return child.prefHeight(-1) * SIZE_MODIFIER;
+        else return child.prefWidth(-1) * SIZE_MODIFIER;
     }
 
 
-    private double getPrefHeight(Node child)
+    static double getPrefHeight(Node child)
     {
         if (child instanceof Control)
         {
@@ -272,257 +2468,127 @@ public class TablePane extends Pane
 
     private void calculateColumnWidths()
     {
-        TablePaneDefinition column;
-        // Check if arrays should be created again - if it already exists fill it with zero too avoid wrong calc.
-        if (columnWidths == null || columnWidths.length != columnList.size()) columnWidths = new double[columnList.size()];
-        else Arrays.fill(columnWidths, 0);
-        // Calculate remaining size.
-        double    remainingWidth       = getWidth() - getInsets().getLeft() - getInsets().getRight();
-        double    preferredWidth;
-        final int COLUMN_WIDTHS_LENGTH = columnWidths.length;
-        int       calculatedCounter    = 0;
-        // Calculate absolute.
-        for (int i = 0; i < COLUMN_WIDTHS_LENGTH; i++)
-        {
-            column = columnList.get(i);
-            // Check if absolute - else continue
-            if (!column.isAbsolute()) continue;
-
-            preferredWidth = column.getSize();
-
-            // The max size is ignored in an absolute environment.
-            // Check if the width must be wrapped to fit into the remaining space.
-            // That is only the case if a min size is not set.
-            if (preferredWidth > remainingWidth) preferredWidth = remainingWidth;
-            if (column.isMinSizeSet() && column.getMinSize() > preferredWidth) preferredWidth = column.getMinSize();
-            columnWidths[i] = preferredWidth;
-                              remainingWidth -= preferredWidth;
-            calculatedCounter++;
-            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
-        }
-        // Check if anything is calculated
-        if (calculatedCounter == COLUMN_WIDTHS_LENGTH) return;
-
-        // Calculate auto size.
-        double               preferredChildWidth;
-        TablePaneConstraints constraints;
-
-        for (int i = 0; i < COLUMN_WIDTHS_LENGTH; i++)
+        final double AVAILABLE_WIDTH = getWidth() - getInsets().getLeft() - getInsets().getRight();
+        // Keep the sizes of the last pass to detect moved tracks.
+        double[] reuse = previousColumnWidths;
+        previousColumnWidths = columnWidths;
+        // The columns of a subgrid are the columns of its parent.
+        if (subgridColumns && subgridColumnLines != null && subgridParent == getParent())
         {
-            column = columnList.get(i);
-            // Check if absolute - else continue
-            if (!column.isAutoSize()) continue;
-            preferredWidth = 0;
-            for (Node child : getChildren())
-            {
-                // If the child is not visible it is not valid.
-                if (!child.isVisible()) continue;
-                constraints = getConstraints(child);
-                // Check if node is valid - if not continue
-                if (!(constraints.getColumnIndex() == i && constraints.getColumnSpan() == 1)) continue;
-                // Calculate the child pref width with insets - the space that is necessary for the node to be represented right.
-                preferredChildWidth = getPrefWidth(child) + constraints.getInsetLeft() + constraints.getInsetRight();
-                // Set the new calculated values.
-                if (preferredWidth < preferredChildWidth) preferredWidth = preferredChildWidth;
-            }
-            // Add the additional size
-            preferredWidth += column.getSize();
-
-            // Check if a max size is set
-            if (column.isMaxSizeSet() && column.getMaxSize() < preferredWidth) preferredWidth = column.getMaxSize();
-            // Check if a min size is set
-            if (preferredWidth > remainingWidth) preferredWidth = remainingWidth;
-            if (column.isMinSizeSet() && column.getMinSize() > preferredWidth) preferredWidth = column.getMinSize();
-            columnWidths[i] = preferredWidth;
-                              remainingWidth -= preferredWidth;
-            calculatedCounter++;
+            columnWidths     = getSubgridSizes(subgridColumnLines, getInsets().getLeft(), getWidth() - getInsets().getRight(), reuse);
+            columnsResizable = false;
+            return;
         }
-        // Check if anything is calculated
-        if (calculatedCounter == COLUMN_WIDTHS_LENGTH) return;
-        // Calculate relative.
-        for (int i = 0; i < COLUMN_WIDTHS_LENGTH; i++)
+        // If only the size of this TablePane has changed, the space is distributed over the relative columns again.
+        if (columnsResizable && AVAILABLE_WIDTH >= columnFixedWidth)
         {
-            column = columnList.get(i);
-            // Check if relative
-            if (!column.isRelative()) continue;
-
-            preferredWidth = remainingWidth * column.getSize();
-
-            // Check if the width must be wrapped to fit into the remaining space.
-            // That is only the case if a min size is not set.
-            if (column.isMaxSizeSet() && column.getMaxSize() < preferredWidth) preferredWidth = column.getMaxSize();
-            if (preferredWidth > remainingWidth) preferredWidth = remainingWidth;
-            if (column.isMinSizeSet() && column.getMinSize() > preferredWidth) preferredWidth = column.getMinSize();
-
-            columnWidths[i] = preferredWidth;
-                             // remainingWidth -= preferredWidth;
-            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
+            columnWidths = copyOf(previousColumnWidths, reuse);
+            TableLayoutSolver.redistribute(layoutColumnList, columnFixedWidth, AVAILABLE_WIDTH, columnWidths);
+            return;
         }
+        // The sizes of the columns of a template are shared with the other TablePanes of the template.
+        if (layoutTemplate != null && layoutTemplate.isColumnList(layoutColumnList)) columnWidths = layoutTemplate.solveColumns(orderedColumnWidths, AVAILABLE_WIDTH, reuse);
+        else columnWidths = TableLayoutSolver.solve(layoutColumnList, orderedColumnWidths, AVAILABLE_WIDTH, reuse);
+        columnFixedWidth = TableLayoutSolver.computeFixedSize(layoutColumnList, orderedColumnWidths);
+        columnsResizable = AVAILABLE_WIDTH >= columnFixedWidth;
     }
 
     private void calculateRowHeights()
     {
-        TablePaneDefinition row;
-        // Check if arrays should be created again - if it already exists fill it with zero too avoid wrong calc.
-        if (rowHeights == null || rowHeights.length != rowList.size()) rowHeights = new double[rowList.size()];
-        else Arrays.fill(rowHeights, 0);
-        // Calculate remaining size.
-        double    remainingHeight    = getHeight() - getInsets().getTop() - getInsets().getBottom();
-        double    preferredHeight;
-        final int ROW_HEIGHTS_LENGTH = rowHeights.length;
-        int       calculatedCounter  = 0;
-        // Calculate absolute.
-        for (int i = 0; i < ROW_HEIGHTS_LENGTH; i++)
-        {
-            row = rowList.get(i);
-            // Check if absolute - else continue
-            if (!row.isAbsolute()) continue;
-
-            preferredHeight = row.getSize();
-
-            // The max size is ignored in an absolute environment.
-            // Check if the width must be wrapped to fit into the remaining space.
-            // That is only the case if a min size is not set.
-            if (preferredHeight > remainingHeight) preferredHeight = remainingHeight;
-            if (row.isMinSizeSet() && row.getMinSize() > preferredHeight) preferredHeight = row.getMinSize();
-            rowHeights[i] = preferredHeight;
-                            remainingHeight -= preferredHeight;
-            calculatedCounter++;
-            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
-        }
-        // Check if anything is calculated
-        if (calculatedCounter == ROW_HEIGHTS_LENGTH) return;
-
-        // Calculate auto size.
-        double               preferredChildHeight;
-        TablePaneConstraints constraints;
-
-        for (int i = 0; i < ROW_HEIGHTS_LENGTH; i++)
+        final double AVAILABLE_HEIGHT = getHeight() - getInsets().getTop() - getInsets().getBottom();
+        // Keep the sizes of the last pass to detect moved tracks.
+        double[] reuse = previousRowHeights;
+        previousRowHeights = rowHeights;
+        if (subgridRows && subgridRowLines != null && subgridParent == getParent())
         {
-            row = rowList.get(i);
-            // Check if absolute - else continue
-            if (!row.isAutoSize()) continue;
-            preferredHeight = 0;
-            for (Node child : getChildren())
-            {
-                // If the child is not visible it is not valid.
-                if (!child.isVisible()) continue;
-                constraints = getConstraints(child);
-                // Check if node is valid - if not continue
-                if (!(constraints.getRowIndex() == i && constraints.getRowSpan() == 1)) continue;
-                // Calculate the child pref width with insets - the space that is necessary for the node to be represented right.
-                preferredChildHeight = getPrefHeight(child) + constraints.getInsetTop() + constraints.getInsetBottom();
-                // Set the new calculated values.
-                if (preferredHeight < preferredChildHeight) preferredHeight = preferredChildHeight;
-            }
-            // Add the additional size
-            preferredHeight += row.getSize();
-
-            // Check if a max size is set
-            if (row.isMaxSizeSet() && row.getMaxSize() < preferredHeight) preferredHeight = row.getMaxSize();
-            // Check if a min size is set
-            if (preferredHeight > remainingHeight) preferredHeight = remainingHeight;
-            if (row.isMinSizeSet() && row.getMinSize() > preferredHeight) preferredHeight = row.getMinSize();
-            rowHeights[i] = preferredHeight;
-                            remainingHeight -= preferredHeight;
-            calculatedCounter++;
+            rowHeights    = getSubgridSizes(subgridRowLines, getInsets().getTop(), getHeight() - getInsets().getBottom(), reuse);
+            rowsResizable = false;
+            return;
         }
-        // Check if anything is calculated
-        if (calculatedCounter == ROW_HEIGHTS_LENGTH) return;
-        // Calculate relative.
-        for (int i = 0; i < ROW_HEIGHTS_LENGTH; i++)
+        if (rowsResizable && AVAILABLE_HEIGHT >= rowFixedHeight)
         {
-            row = rowList.get(i);
-            // Check if relative
-            if (!row.isRelative()) continue;
+            rowHeights = copyOf(previousRowHeights, reuse);
+            TableLayoutSolver.redistribute(layoutRowList, rowFixedHeight, AVAILABLE_HEIGHT, rowHeights);
+            return;
+        }
+        if (layoutTemplate != null && layoutTemplate.isRowList(layoutRowList)) rowHeights = layoutTemplate.solveRows(orderedRowHeights, AVAILABLE_HEIGHT, reuse);
+        else rowHeights = TableLayoutSolver.solve(layoutRowList, orderedRowHeights, AVAILABLE_HEIGHT, reuse);
+        rowFixedHeight = TableLayoutSolver.computeFixedSize(layoutRowList, orderedRowHeights);
+        rowsResizable  = AVAILABLE_HEIGHT >= rowFixedHeight;
+    }
 
-            preferredHeight = remainingHeight * row.getSize();
+    private static double[] copyOf(double[] source, double[] target)
+    {
+        if (target == null || target.length != source.length) return source.clone();
+        System.arraycopy(source, 0, target, 0, source.length);
+        return target;
+    }
 
-            // Check if the width must be wrapped to fit into the remaining space.
-            // That is only the case if a min size is not set.
-            if (row.isMaxSizeSet() && row.getMaxSize() < preferredHeight) preferredHeight = row.getMaxSize();
-            if (preferredHeight > remainingHeight) preferredHeight = remainingHeight;
-            if (row.isMinSizeSet() && row.getMinSize() > preferredHeight) preferredHeight = row.getMinSize();
+    @Override
+    protected double computePrefHeight(double width)
+    {
+        return computeSize(prefHeightCache, width, TablePaneLayoutEvent.PREF_HEIGHT,
+                           () -> getInsets().getTop() + getInsets().getBottom() + TableLayoutSolver.computePrefSize(layoutRowList, orderedRowHeights));
+    }
 
-            rowHeights[i] = preferredHeight;
-                         //   remainingHeight -= preferredHeight;
-            // We can't break here if no space is remaining, because that could create an ugly looking behaviour of spanning children.
-        }
+    @Override
+    protected double computePrefWidth(double height)
+    {
+        return computeSize(prefWidthCache, height, TablePaneLayoutEvent.PREF_WIDTH,
+                           () -> getInsets().getLeft() + getInsets().getRight() + TableLayoutSolver.computePrefSize(layoutColumnList, orderedColumnWidths));
     }
 
     @Override
-    protected double computePrefHeight(double width)
+    protected double computeMinHeight(double width)
     {
-        TablePaneConstraints constraints;
-        TablePaneDefinition definition;
-        double               height = getInsets().getTop() + getInsets().getBottom();
-        for (int i = 0; i < rowList.size();i++)
-        {
-            definition = rowList.get(i);
-            if (definition.isAbsolute()) height += definition.getSize();
-            else
-            {
-                double preferredRowHeight = 0;
-                double preferredChildHeight;
-                for (Node child : getChildren())
-                {
-                    // If the child is not visible it is not valid.
-                    if (!child.isVisible()) continue;
-                    constraints = getConstraints(child);
-                    // Check if node is valid - if not continue
-                    if (!(constraints.getRowIndex() == i && constraints.getRowSpan() == 1)) continue;
-                    // Calculate the child pref width with insets - the space that is necessary for the node to be represented right.
-                    preferredChildHeight = getPrefHeight(child) + constraints.getInsetTop() + constraints.getInsetBottom();
-                    // Set the new calculated values.
-                    if (preferredRowHeight < preferredChildHeight) preferredRowHeight = preferredChildHeight;
-                }
-                // Add the additional size
-                preferredRowHeight += definition.getSize();
+        return computeSize(minHeightCache, width, TablePaneLayoutEvent.MIN_HEIGHT,
+                           () -> getInsets().getTop() + getInsets().getBottom() + TableLayoutSolver.computeMinSize(layoutRowList));
+    }
 
-                if(definition.isMaxSizeSet() && definition.getMaxSize() < preferredRowHeight) preferredRowHeight = definition.getMaxSize();
-                if(definition.isMinSizeSet() && definition.getMinSize() > preferredRowHeight) preferredRowHeight = definition.getMinSize();
-                height += preferredRowHeight;
-            }
-        }
-        return height;
+    @Override
+    protected double computeMinWidth(double height)
+    {
+        return computeSize(minWidthCache, height, TablePaneLayoutEvent.MIN_WIDTH,
+                           () -> getInsets().getLeft() + getInsets().getRight() + TableLayoutSolver.computeMinSize(layoutColumnList));
     }
 
+    @Override
+    protected double computeMaxHeight(double width)
+    {
+        return computeSize(maxHeightCache, width, TablePaneLayoutEvent.MAX_HEIGHT,
+                           () -> getInsets().getTop() + getInsets().getBottom() + TableLayoutSolver.computeMaxSize(layoutRowList, orderedRowHeights));
+    }
 
     @Override
-    protected double computePrefWidth(double height)
+    protected double computeMaxWidth(double height)
     {
-        TablePaneConstraints constraints;
-        TablePaneDefinition definition;
-        double               width = getInsets().getLeft() + getInsets().getRight();
-        for (int i = 0; i < columnList.size();i++)
-        {
-            definition = columnList.get(i);
-            if (definition.isAbsolute()) width += definition.getSize();
-            else
-            {
-                double preferredRowWidth = 0;
-                double preferredChildWidth;
-                for (Node child : getChildren())
-                {
-                    // If the child is not visible it is not valid.
-                    if (!child.isVisible()) continue;
-                    constraints = getConstraints(child);
-                    // Check if node is valid - if not continue
-                    if (!(constraints.getColumnIndex() == i && constraints.getColumnSpan() == 1)) continue;
-                    // Calculate the child pref width with insets - the space that is necessary for the node to be represented right.
-                    preferredChildWidth = getPrefWidth(child) + constraints.getInsetLeft() + constraints.getInsetRight();
-                    // Set the new calculated values.
-                    if (preferredRowWidth < preferredChildWidth) preferredRowWidth = preferredChildWidth;
-                }
-                // Add the additional size
-                preferredRowWidth += definition.getSize();
+        return computeSize(maxWidthCache, height, TablePaneLayoutEvent.MAX_WIDTH,
+                           () -> getInsets().getLeft() + getInsets().getRight() + TableLayoutSolver.computeMaxSize(layoutColumnList, orderedColumnWidths));
+    }
 
-                if(definition.isMaxSizeSet() && definition.getMaxSize() < preferredRowWidth) preferredRowWidth = definition.getMaxSize();
-                if(definition.isMinSizeSet() && definition.getMinSize() > preferredRowWidth) preferredRowWidth = definition.getMinSize();
-                width += preferredRowWidth;
-            }
+    /**
+     * Returns a size of this {@code TablePane} from a cache. If the size is not cached for the input dimension, it is computed from the content size
+     * of the tracks.
+     *
+     * @param cache       The cache of the size.
+     * @param input       The input dimension.
+     * @param operation   The operation that is recorded by a {@link TablePaneLayoutEvent}.
+     * @param computation Computes the size.
+     * @return The size.
+     */
+    private double computeSize(TablePaneSizeCache cache, double input, String operation, DoubleSupplier computation)
+    {
+        TablePaneLayoutEvent event = new TablePaneLayoutEvent();
+        event.begin();
+        long measures = measureCount;
+        prepareLayout();
+        double size = cache.get(input);
+        if (Double.isNaN(size))
+        {
+            size = computation.getAsDouble();
+            cache.put(input, size);
         }
-        return width;
+        commitEvent(event, operation, measures, relocateCount);
+        return size;
     }
 }
-
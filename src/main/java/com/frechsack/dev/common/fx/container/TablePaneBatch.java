@@ -0,0 +1,251 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link TablePaneBatch} collects children, rows and columns for a {@link TablePane} and adds them in one step when it is closed.<br> While a batch
+ * is open, nothing is added to the {@code TablePane}. On {@link #close()} the columns and rows are appended, all children are added with a single
+ * change of the children list and one layout is requested. A layout pass while a batch is open does not affect it.<br> Only one batch of a {@code
+ * TablePane} can be open at a time. A batch that is still open when the next batch is opened has been leaked, for example by an exception. It is
+ * abandoned: its content is discarded and every further call of it throws an {@code IllegalStateException}. A batch should be used in a
+ * try-with-resources statement, so it is always closed:
+ * <pre>{@code
+ * try (TablePaneBatch batch = tablePane.beginBatch())
+ * {
+ *     batch.addColumn(new TablePaneColumn(SizeMode.AUTO_SIZE, 0));
+ *     batch.add(label, 0, 0, 1, 1);
+ * }
+ * }</pre>
+ *
+ * @see TablePane#beginBatch()
+ */
+public final class TablePaneBatch implements AutoCloseable
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final TablePane                  tablePane;
+    private final List<Node>                 nodes       = new ArrayList<>();
+    private final List<TablePaneConstraints> constraints = new ArrayList<>();
+    private final List<TablePaneDefinition>  rows        = new ArrayList<>();
+    private final List<TablePaneDefinition>  columns     = new ArrayList<>();
+    // Column, row, column span and row span of each child that is added without an instance of TablePaneConstraints.
+    private       int[]                      cells       = new int[64];
+    // The children that are added with a shared instance of TablePaneConstraints, but in their own cell.
+    private final BitSet                     placed      = new BitSet();
+    private       boolean                    closed;
+    // True if the batch has been leaked and its content has been discarded.
+    private       boolean                    abandoned;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneBatch}.
+     *
+     * @param tablePane The {@code TablePane} that receives the collected children, rows and columns.
+     */
+    TablePaneBatch(TablePane tablePane)
+    {
+        this.tablePane = tablePane;
+    }
+
+    /**
+     * Adds a child with the given {@link TablePaneConstraints}.
+     *
+     * @param child       The child that should be added.
+     * @param constraints The {@code TablePaneConstraints}. If null is passed, the child is placed in the first cell.
+     * @return An instance of this {@code TablePaneBatch}.
+     * @throws IllegalStateException If this batch is closed or has been abandoned.
+     * @see TablePane#add(Node, TablePaneConstraints)
+     */
+    public TablePaneBatch add(Node child, TablePaneConstraints constraints)
+    {
+        if (constraints == null) return add(child, 0, 0, 1, 1);
+        requireOpen();
+        nodes.add(Objects.requireNonNull(child));
+        this.constraints.add(constraints);
+        return this;
+    }
+
+    /**
+     * Adds a child in the given cell. The child fills the whole cell, without insets.
+     *
+     * @param child       The child that should be added.
+     * @param columnIndex The column index (x-value).
+     * @param rowIndex    The row index (y-value).
+     * @param columnSpan  The column span (width).
+     * @param rowSpan     The row span (height).
+     * @return An instance of this {@code TablePaneBatch}.
+     * @throws IllegalStateException If this batch is closed or has been abandoned.
+     * @see TablePane#add(Node, int, int, int, int)
+     */
+    public TablePaneBatch add(Node child, int columnIndex, int rowIndex, int columnSpan, int rowSpan)
+    {
+        requireOpen();
+        int index = nodes.size();
+        nodes.add(Objects.requireNonNull(child));
+        constraints.add(null);
+        setCell(index, columnIndex, rowIndex, columnSpan, rowSpan);
+        return this;
+    }
+
+    /**
+     * Adds a child in the given cell, with the spans, insets, fill mode and anchor of the given {@link TablePaneConstraints}.
+     *
+     * @param child       The child that should be added.
+     * @param columnIndex The column index (x-value).
+     * @param rowIndex    The row index (y-value).
+     * @param layout      The {@code TablePaneConstraints} whose cell is ignored, usually an interned instance.
+     * @return An instance of this {@code TablePaneBatch}.
+     * @throws IllegalStateException If this batch is closed or has been abandoned.
+     * @see TablePane#add(Node, int, int, TablePaneConstraints)
+     */
+    public TablePaneBatch add(Node child, int columnIndex, int rowIndex, TablePaneConstraints layout)
+    {
+        requireOpen();
+        int index = nodes.size();
+        nodes.add(Objects.requireNonNull(child));
+        constraints.add(Objects.requireNonNull(layout));
+        setCell(index, columnIndex, rowIndex, layout.getColumnSpan(), layout.getRowSpan());
+        placed.set(index);
+        return this;
+    }
+
+    private void setCell(int index, int columnIndex, int rowIndex, int columnSpan, int rowSpan)
+    {
+        if (cells.length < (index + 1) * 4) cells = Arrays.copyOf(cells, Math.max((index + 1) * 4, cells.length * 2));
+        cells[index * 4]     = columnIndex;
+        cells[index * 4 + 1] = rowIndex;
+        cells[index * 4 + 2] = columnSpan;
+        cells[index * 4 + 3] = rowSpan;
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a row.
+     *
+     * @param definition The {@code TablePaneDefinition}.
+     * @return An instance of this {@code TablePaneBatch}.
+     * @throws IllegalStateException If this batch is closed or has been abandoned.
+     */
+    public TablePaneBatch addRow(TablePaneDefinition definition)
+    {
+        requireOpen();
+        rows.add(definition);
+        return this;
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a column.
+     *
+     * @param definition The {@code TablePaneDefinition}.
+     * @return An instance of this {@code TablePaneBatch}.
+     * @throws IllegalStateException If this batch is closed or has been abandoned.
+     */
+    public TablePaneBatch addColumn(TablePaneDefinition definition)
+    {
+        requireOpen();
+        columns.add(definition);
+        return this;
+    }
+
+    /**
+     * Adds the collected children, rows and columns to the {@code TablePane}. Calling this method on a closed batch has no effect.
+     *
+     * @throws IllegalStateException If this batch has been abandoned, because another batch of the {@code TablePane} has been opened.
+     */
+    @Override
+    public void close()
+    {
+        if (abandoned) throw abandonedException();
+        if (closed) return;
+        closed = true;
+        tablePane.commitBatch(this);
+    }
+
+    /**
+     * Discards the content of this batch, because it has not been closed before the next batch of the {@code TablePane} has been opened.
+     */
+    void abandon()
+    {
+        closed    = true;
+        abandoned = true;
+        nodes.clear();
+        constraints.clear();
+        rows.clear();
+        columns.clear();
+    }
+
+    private void requireOpen()
+    {
+        if (abandoned) throw abandonedException();
+        if (closed) throw new IllegalStateException("The batch is closed.");
+    }
+
+    private static IllegalStateException abandonedException()
+    {
+        return new IllegalStateException("The batch has been abandoned, because the next batch of the TablePane was opened before it was closed.");
+    }
+
+    // Access for the TablePane
+
+    List<Node> getNodes()
+    {
+        return nodes;
+    }
+
+    List<TablePaneDefinition> getRows()
+    {
+        return rows;
+    }
+
+    List<TablePaneDefinition> getColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * Returns the {@link TablePaneConstraints} of a collected child.
+     *
+     * @param index The index of the child in this batch.
+     * @return The {@code TablePaneConstraints}, null if the child has been added with a cell.
+     */
+    TablePaneConstraints getConstraints(int index)
+    {
+        return constraints.get(index);
+    }
+
+    /**
+     * Checks if a collected child has been added with {@code TablePaneConstraints} and its own cell.
+     *
+     * @param index The index of the child in this batch.
+     * @return True if the cell replaces the cell of the {@code TablePaneConstraints}.
+     */
+    boolean isPlaced(int index)
+    {
+        return placed.get(index);
+    }
+
+    /**
+     * Returns a value of the cell of a collected child.
+     *
+     * @param index The index of the child in this batch.
+     * @param value 0 for the column, 1 for the row, 2 for the column span and 3 for the row span.
+     * @return The value.
+     */
+    int getCell(int index, int value)
+    {
+        return cells[index * 4 + value];
+    }
+}
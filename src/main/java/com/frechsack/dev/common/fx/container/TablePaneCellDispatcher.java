@@ -0,0 +1,124 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link TablePaneCellDispatcher} delegates the mouse events of a {@link TablePane} to the {@link TablePaneCellHandler TablePaneCellHandlers} of
+ * its cells. It is registered as an event handler, so the children can be mouse transparent and no child needs a handler of its own.<br> The cell
+ * below the mouse is found with {@link TablePane#getColumnAt(double)}, {@link TablePane#getRowAt(double)} and {@link TablePane#getChildAt(double,
+ * double)}. When the mouse moves into another cell, the exited and the entered cell are reported. Events outside of the grid are not delegated.
+ *
+ * @see TablePane#addCellHandler(EventType, TablePaneCellHandler)
+ */
+final class TablePaneCellDispatcher implements EventHandler<MouseEvent>
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final TablePane                                     tablePane;
+    private final Map<EventType<?>, List<TablePaneCellHandler>> handlers = new HashMap<>();
+    // The cell below the mouse, as logical indices, -1 if the mouse is outside of the grid.
+    private       int                                           column   = -1;
+    private       int                                           row      = -1;
+    private       Node                                          child;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneCellDispatcher}.
+     *
+     * @param tablePane The {@code TablePane} whose cells are handled.
+     */
+    TablePaneCellDispatcher(TablePane tablePane)
+    {
+        this.tablePane = tablePane;
+    }
+
+    /**
+     * Adds a handler for an event type. The handler also receives the events of the sub types.
+     *
+     * @param eventType The event type.
+     * @param handler   The handler.
+     */
+    void add(EventType<MouseEvent> eventType, TablePaneCellHandler handler)
+    {
+        handlers.computeIfAbsent(eventType, type -> new ArrayList<>()).add(handler);
+    }
+
+    /**
+     * Removes a handler of an event type.
+     *
+     * @param eventType The event type.
+     * @param handler   The handler.
+     */
+    void remove(EventType<MouseEvent> eventType, TablePaneCellHandler handler)
+    {
+        List<TablePaneCellHandler> typeHandlers = handlers.get(eventType);
+        if (typeHandlers == null) return;
+        typeHandlers.remove(handler);
+        if (typeHandlers.isEmpty()) handlers.remove(eventType);
+    }
+
+    @Override
+    public void handle(MouseEvent event)
+    {
+        if (handlers.isEmpty()) return;
+        EventType<? extends MouseEvent> type = event.getEventType();
+        // The entered and exited events of the children are reported to the pane with the target types, the cells are tracked by the moves.
+        if (type == MouseEvent.MOUSE_ENTERED_TARGET || type == MouseEvent.MOUSE_EXITED_TARGET) return;
+        if (type == MouseEvent.MOUSE_EXITED)
+        {
+            updateCell(event, -1, -1, null);
+            return;
+        }
+        int newColumn = tablePane.getColumnAt(event.getX());
+        int newRow    = tablePane.getRowAt(event.getY());
+        if (newColumn == -1 || newRow == -1) updateCell(event, -1, -1, null);
+        else updateCell(event, newColumn, newRow, tablePane.getChildAt(event.getX(), event.getY()));
+        if (column != -1 && type != MouseEvent.MOUSE_ENTERED) fire(event, type);
+    }
+
+    /**
+     * Reports the exited and entered cell, if the mouse is above another cell.
+     *
+     * @param event     The current event.
+     * @param newColumn The logical column index, -1 if the mouse is outside of the grid.
+     * @param newRow    The logical row index, -1 if the mouse is outside of the grid.
+     * @param newChild  The child in the cell.
+     */
+    private void updateCell(MouseEvent event, int newColumn, int newRow, Node newChild)
+    {
+        if (newColumn == column && newRow == row && newChild == child) return;
+        if (column != -1) fire(event.copyFor(tablePane, tablePane, MouseEvent.MOUSE_EXITED), MouseEvent.MOUSE_EXITED);
+        column = newColumn;
+        row    = newRow;
+        child  = newChild;
+        if (column != -1) fire(event.copyFor(tablePane, tablePane, MouseEvent.MOUSE_ENTERED), MouseEvent.MOUSE_ENTERED);
+    }
+
+    private void fire(MouseEvent event, EventType<?> type)
+    {
+        // A handler of a super type receives the event too, like an event handler of a Node.
+        for (EventType<?> handled = type; handled != null; handled = handled.getSuperType())
+        {
+            List<TablePaneCellHandler> typeHandlers = handlers.get(handled);
+            if (typeHandlers == null) continue;
+            // A handler can remove itself.
+            for (TablePaneCellHandler handler : typeHandlers.toArray(new TablePaneCellHandler[0])) handler.handle(event, child, column, row);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * A {@link TablePaneCellHandler} handles the mouse events of the cells of a {@link TablePane}. It is registered once at the {@code TablePane}
+ * instead of a handler per cell, the cell below the mouse is found by the {@code TablePane}.<br> Entering and exiting a cell is reported with the
+ * event types {@link MouseEvent#MOUSE_ENTERED} and {@link MouseEvent#MOUSE_EXITED}, the other events are the events of the {@code TablePane}.
+ *
+ * @see TablePane#addCellHandler(javafx.event.EventType, TablePaneCellHandler)
+ */
+@FunctionalInterface
+public interface TablePaneCellHandler
+{
+    /**
+     * Handles a mouse event in a cell.
+     *
+     * @param event       The event, in the coordinates of the {@code TablePane}.
+     * @param child       The child in the cell, null if the cell is empty.
+     * @param columnIndex The logical column index.
+     * @param rowIndex    The logical row index.
+     */
+    void handle(MouseEvent event, Node child, int columnIndex, int rowIndex);
+}
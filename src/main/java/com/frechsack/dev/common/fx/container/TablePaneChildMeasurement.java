@@ -0,0 +1,160 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Region;
+
+/**
+ * A {@link TablePaneChildMeasurement} tracks whether the measured preferred size of a {@link TablePane} child is still valid.<br> The measurement
+ * becomes invalid if the child requests a layout, if the preferred size of a {@link Region} is set or if the layout bounds of any other Node
+ * change.<br> Each of these changes and a change of the visibility of the child is reported to the {@code TablePane}, because they invalidate its
+ * cached sizes.<br> A child that is resized by the {@code TablePane} requests a layout of its own, that request does not invalidate the
+ * measurement. The preferred size of a child is not expected to depend on its current size, a content biased child is measured again by the {@code
+ * TablePane} when it changes its width or height.
+ *
+ * @see TablePane
+ */
+final class TablePaneChildMeasurement
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final Node                    node;
+    private final Runnable                invalidation;
+    private final InvalidationListener    sizeListener       = observable ->
+    {
+        if (!this.resizing) invalidate();
+    };
+    private final InvalidationListener    visibilityListener;
+    private final ChangeListener<Boolean> layoutListener     = (observable, oldValue, newValue) ->
+    {
+        if (newValue && !this.resizing) invalidate();
+    };
+    private       boolean                 valid;
+    private       boolean                 resizing;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneChildMeasurement}. The measurement is invalid until {@link #validate()} is called.
+     *
+     * @param node         The child.
+     * @param invalidation Is called if the measurement becomes invalid or the visibility of the child changes.
+     */
+    TablePaneChildMeasurement(Node node, Runnable invalidation)
+    {
+        this.node               = node;
+        this.invalidation       = invalidation;
+        this.visibilityListener = observable ->
+        {
+            if (!this.resizing) invalidation.run();
+        };
+    }
+
+    /**
+     * Starts to listen to the child.
+     */
+    void register()
+    {
+        if (node instanceof Parent) ((Parent) node).needsLayoutProperty().addListener(layoutListener);
+        else node.layoutBoundsProperty().addListener(sizeListener);
+        node.visibleProperty().addListener(visibilityListener);
+        if (node instanceof Region)
+        {
+            ((Region) node).prefWidthProperty().addListener(sizeListener);
+            ((Region) node).prefHeightProperty().addListener(sizeListener);
+        }
+    }
+
+    /**
+     * Stops to listen to the child.
+     */
+    void unregister()
+    {
+        if (node instanceof Parent) ((Parent) node).needsLayoutProperty().removeListener(layoutListener);
+        else node.layoutBoundsProperty().removeListener(sizeListener);
+        node.visibleProperty().removeListener(visibilityListener);
+        if (node instanceof Region)
+        {
+            ((Region) node).prefWidthProperty().removeListener(sizeListener);
+            ((Region) node).prefHeightProperty().removeListener(sizeListener);
+        }
+    }
+
+    /**
+     * Marks the measurement as valid. Must be called after the child has been measured, the observed values are read again so that the next change
+     * is reported.
+     */
+    void validate()
+    {
+        valid = true;
+        if (!(node instanceof Parent)) node.getLayoutBounds();
+        node.isVisible();
+        if (node instanceof Region)
+        {
+            ((Region) node).getPrefWidth();
+            ((Region) node).getPrefHeight();
+        }
+    }
+
+    /**
+     * Marks the measurement as invalid.
+     */
+    void invalidate()
+    {
+        valid = false;
+        invalidation.run();
+    }
+
+    boolean isValid()
+    {
+        return valid;
+    }
+
+    /**
+     * Resizes and relocates the child. The layout request of the child, caused by its new size, does not invalidate the measurement.
+     *
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     */
+    void resizeRelocate(double x, double y, double width, double height)
+    {
+        resizing = true;
+        try
+        {
+            node.resizeRelocate(x, y, width, height);
+        }
+        finally
+        {
+            resizing = false;
+        }
+    }
+
+    /**
+     * Runs an action of the {@code TablePane}, that makes the child request a layout. The request does not invalidate the measurement.
+     *
+     * @param action The action.
+     */
+    void runWithoutInvalidation(Runnable action)
+    {
+        resizing = true;
+        try
+        {
+            action.run();
+        }
+        finally
+        {
+            resizing = false;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.frechsack.dev.common.fx.container;
+
+import com.frechsack.dev.common.fx.geometry.WriteableRectangle2D;
+import javafx.geometry.HPos;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link TablePaneChildState} holds the layout state of the children of a {@link TablePane} in parallel arrays. The index of a child in the arrays
+ * is the index of the child in the children list.<br> The {@link TablePaneConstraints} of a child are packed into primitive values:<br> The column
+ * and row index are stored as they are.<br> The column span is stored in the upper and the row span in the lower 16 bits of an int.<br> The top and
+ * bottom inset as well as the left and right inset are stored as two signed 16 bit values in an int.<br> The {@link FillMode} and the anchor are
+ * stored as ordinals in one int.
+ *
+ * @see TablePane
+ * @see TablePaneConstraints
+ */
+final class TablePaneChildState
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Static fields
+     *                                                                             *
+     ******************************************************************************/
+    private static final FillMode[] FILL_MODES     = FillMode.values();
+    private static final Pos[]      ANCHORS        = Pos.values();
+    private static final int        DEFAULT_SPANS  = packSpans(1, 1);
+    private static final int        DEFAULT_MODES  = packModes(FillMode.BOTH, Pos.CENTER);
+    private static final int        MAX_SPAN       = 0xFFFF;
+    private static final int        MIN_CAPACITY   = 8;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    int                         size;
+    // The constraints instance a child is bound to, null if the packed values are the only source.
+    TablePaneConstraints[]      sources;
+    // The breakpoint cell that is packed instead of the own constraints of a child, null if the own constraints are packed.
+    TablePaneConstraints[]      overlays;
+    int[]                       versions;
+    int[]                       columns;
+    int[]                       rows;
+    int[]                       spans;
+    int[]                       verticalInsets;
+    int[]                       horizontalInsets;
+    int[]                       modes;
+    // True if a child is visible and managed, only these children are laid out.
+    boolean[]                   included;
+    boolean[]                   dirty;
+    // True if a child is outside of the viewport, it is only moved with its cell. A culled child is still included.
+    boolean[]                   culled;
+    double[]                    prefWidths;
+    double[]                    prefHeights;
+    // The bounds that have been applied to a child by the last layout pass.
+    double[]                    boundsX;
+    double[]                    boundsY;
+    double[]                    boundsWidths;
+    double[]                    boundsHeights;
+    TablePaneChildMeasurement[] measurements;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneChildState} without children.
+     */
+    TablePaneChildState()
+    {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity)
+    {
+        sources          = sources == null ? new TablePaneConstraints[capacity] : Arrays.copyOf(sources, capacity);
+        overlays         = overlays == null ? new TablePaneConstraints[capacity] : Arrays.copyOf(overlays, capacity);
+        versions         = versions == null ? new int[capacity] : Arrays.copyOf(versions, capacity);
+        columns          = columns == null ? new int[capacity] : Arrays.copyOf(columns, capacity);
+        rows             = rows == null ? new int[capacity] : Arrays.copyOf(rows, capacity);
+        spans            = spans == null ? new int[capacity] : Arrays.copyOf(spans, capacity);
+        verticalInsets   = verticalInsets == null ? new int[capacity] : Arrays.copyOf(verticalInsets, capacity);
+        horizontalInsets = horizontalInsets == null ? new int[capacity] : Arrays.copyOf(horizontalInsets, capacity);
+        modes            = modes == null ? new int[capacity] : Arrays.copyOf(modes, capacity);
+        included         = included == null ? new boolean[capacity] : Arrays.copyOf(included, capacity);
+        dirty            = dirty == null ? new boolean[capacity] : Arrays.copyOf(dirty, capacity);
+        culled           = culled == null ? new boolean[capacity] : Arrays.copyOf(culled, capacity);
+        prefWidths       = prefWidths == null ? new double[capacity] : Arrays.copyOf(prefWidths, capacity);
+        prefHeights      = prefHeights == null ? new double[capacity] : Arrays.copyOf(prefHeights, capacity);
+        boundsX          = boundsX == null ? new double[capacity] : Arrays.copyOf(boundsX, capacity);
+        boundsY          = boundsY == null ? new double[capacity] : Arrays.copyOf(boundsY, capacity);
+        boundsWidths     = boundsWidths == null ? new double[capacity] : Arrays.copyOf(boundsWidths, capacity);
+        boundsHeights    = boundsHeights == null ? new double[capacity] : Arrays.copyOf(boundsHeights, capacity);
+        measurements     = measurements == null ? new TablePaneChildMeasurement[capacity] : Arrays.copyOf(measurements, capacity);
+    }
+
+    private Object[] arrays()
+    {
+        return new Object[]{sources, overlays, versions, columns, rows, spans, verticalInsets, horizontalInsets, modes, included, dirty, culled,
+                            prefWidths, prefHeights, boundsX, boundsY, boundsWidths, boundsHeights, measurements};
+    }
+
+    /**
+     * Inserts slots for new children. The new slots are dirty and are not placed in any column or row, until constraints are packed into them.
+     *
+     * @param from  The index of the first new child.
+     * @param count The number of new children.
+     */
+    void insert(int from, int count)
+    {
+        if (size + count > columns.length) allocate(Math.max(size + count, columns.length + (columns.length >> 1)));
+        if (from < size) for (Object array : arrays()) System.arraycopy(array, from, array, from + count, size - from);
+        size += count;
+        for (int i = from; i < from + count; i++)
+        {
+            sources[i]          = null;
+            overlays[i]         = null;
+            versions[i]         = 0;
+            columns[i]          = -1;
+            rows[i]             = -1;
+            spans[i]            = DEFAULT_SPANS;
+            verticalInsets[i]   = 0;
+            horizontalInsets[i] = 0;
+            modes[i]            = DEFAULT_MODES;
+            included[i]         = false;
+            dirty[i]            = true;
+            culled[i]           = false;
+            prefWidths[i]       = 0;
+            prefHeights[i]      = 0;
+            // A new child has no bounds, the first bounds are always applied.
+            boundsX[i]          = Double.NaN;
+            measurements[i]     = null;
+        }
+    }
+
+    /**
+     * Removes the slots of removed children.
+     *
+     * @param from  The index of the first removed child.
+     * @param count The number of removed children.
+     */
+    void remove(int from, int count)
+    {
+        if (from + count < size) for (Object array : arrays()) System.arraycopy(array, from + count, array, from, size - from - count);
+        size -= count;
+        // Release the references of the free slots.
+        Arrays.fill(sources, size, size + count, null);
+        Arrays.fill(overlays, size, size + count, null);
+        Arrays.fill(measurements, size, size + count, null);
+    }
+
+    /**
+     * Reorders the slots of a range of children.
+     *
+     * @param from        The first index of the range.
+     * @param to          The end of the range, exclusive.
+     * @param permutation Maps the old index of a child to its new index.
+     */
+    void permute(int from, int to, IntUnaryOperator permutation)
+    {
+        for (Object array : arrays())
+        {
+            Object copy = Array.newInstance(array.getClass().getComponentType(), to - from);
+            System.arraycopy(array, from, copy, 0, to - from);
+            for (int i = from; i < to; i++) System.arraycopy(copy, i - from, array, permutation.applyAsInt(i), 1);
+        }
+    }
+
+    /**
+     * Stores the bounds of a child, if they differ from the bounds of the last layout pass.
+     *
+     * @param index  The index of the child.
+     * @param bounds The bounds.
+     * @return True if the bounds have changed and must be applied to the child.
+     */
+    boolean updateBounds(int index, WriteableRectangle2D bounds)
+    {
+        if (boundsX[index] == bounds.getMinX() && boundsY[index] == bounds.getMinY() && boundsWidths[index] == bounds.getWidth() &&
+            boundsHeights[index] == bounds.getHeight()) return false;
+        boundsX[index]       = bounds.getMinX();
+        boundsY[index]       = bounds.getMinY();
+        boundsWidths[index]  = bounds.getWidth();
+        boundsHeights[index] = bounds.getHeight();
+        return true;
+    }
+
+    // Constraints
+
+    /**
+     * Packs the given constraints into the slot of a child.
+     *
+     * @param index       The index of the child.
+     * @param constraints The constraints.
+     * @throws IllegalArgumentException If a span or an inset can not be packed.
+     */
+    void pack(int index, TablePaneConstraints constraints)
+    {
+        columns[index]          = constraints.getColumnIndex();
+        rows[index]             = constraints.getRowIndex();
+        spans[index]            = packSpans(constraints.getColumnSpan(), constraints.getRowSpan());
+        verticalInsets[index]   = packInsets(constraints.getInsetTop(), constraints.getInsetBottom());
+        horizontalInsets[index] = packInsets(constraints.getInsetLeft(), constraints.getInsetRight());
+        modes[index]            = packModes(constraints.getFillMode(), constraints.getAnchor());
+    }
+
+    /**
+     * Packs the given constraints into the slot of a child, the child is placed in the given cell instead of the cell of the constraints.
+     *
+     * @param index       The index of the child.
+     * @param column      The column index.
+     * @param row         The row index.
+     * @param constraints The constraints, for example a shared instance.
+     * @throws IllegalArgumentException If a span or an inset can not be packed.
+     */
+    void pack(int index, int column, int row, TablePaneConstraints constraints)
+    {
+        pack(index, constraints);
+        columns[index] = column;
+        rows[index]    = row;
+    }
+
+    /**
+     * Packs a cell into the slot of a child. The child fills the whole cell, without insets.
+     *
+     * @param index       The index of the child.
+     * @param column      The column index.
+     * @param row         The row index.
+     * @param columnSpan  The column span.
+     * @param rowSpan     The row span.
+     * @throws IllegalArgumentException If a span can not be packed.
+     */
+    void pack(int index, int column, int row, int columnSpan, int rowSpan)
+    {
+        columns[index]          = column;
+        rows[index]             = row;
+        spans[index]            = packSpans(columnSpan, rowSpan);
+        verticalInsets[index]   = 0;
+        horizontalInsets[index] = 0;
+        modes[index]            = DEFAULT_MODES;
+    }
+
+    /**
+     * Creates an instance of {@link TablePaneConstraints} from the packed values of a child.
+     *
+     * @param index The index of the child.
+     * @return The constraints.
+     */
+    TablePaneConstraints unpack(int index)
+    {
+        return new TablePaneConstraints(getColumn(index), getRow(index), getColumnSpan(index), getRowSpan(index), getInsetTop(index),
+                                        getInsetRight(index), getInsetBottom(index), getInsetLeft(index), getFillMode(index), getAnchor(index));
+    }
+
+    int getColumn(int index)
+    {
+        return columns[index];
+    }
+
+    int getRow(int index)
+    {
+        return rows[index];
+    }
+
+    int getColumnSpan(int index)
+    {
+        return spans[index] >>> 16;
+    }
+
+    int getRowSpan(int index)
+    {
+        return spans[index] & MAX_SPAN;
+    }
+
+    /**
+     * Returns the column a child contributes its width to.
+     *
+     * @param index The index of the child.
+     * @return The column, -1 if the child spans multiple columns.
+     */
+    int getContentColumn(int index)
+    {
+        return getColumnSpan(index) == 1 ? columns[index] : -1;
+    }
+
+    /**
+     * Returns the row a child contributes its height to.
+     *
+     * @param index The index of the child.
+     * @return The row, -1 if the child spans multiple rows.
+     */
+    int getContentRow(int index)
+    {
+        return getRowSpan(index) == 1 ? rows[index] : -1;
+    }
+
+    int getInsetTop(int index)
+    {
+        return verticalInsets[index] >> 16;
+    }
+
+    int getInsetBottom(int index)
+    {
+        return (short) verticalInsets[index];
+    }
+
+    int getInsetLeft(int index)
+    {
+        return horizontalInsets[index] >> 16;
+    }
+
+    int getInsetRight(int index)
+    {
+        return (short) horizontalInsets[index];
+    }
+
+    FillMode getFillMode(int index)
+    {
+        return FILL_MODES[modes[index] >>> 8];
+    }
+
+    Pos getAnchor(int index)
+    {
+        return ANCHORS[modes[index] & 0xFF];
+    }
+
+    HPos getHpos(int index)
+    {
+        return getAnchor(index).getHpos();
+    }
+
+    VPos getVpos(int index)
+    {
+        return getAnchor(index).getVpos();
+    }
+
+    static int packSpans(int columnSpan, int rowSpan)
+    {
+        if (columnSpan < 0 || columnSpan > MAX_SPAN || rowSpan < 0 || rowSpan > MAX_SPAN)
+            throw new IllegalArgumentException("A span must be between 0 and " + MAX_SPAN + ".");
+        return columnSpan << 16 | rowSpan;
+    }
+
+    static int packInsets(int first, int second)
+    {
+        if (first < Short.MIN_VALUE || first > Short.MAX_VALUE || second < Short.MIN_VALUE || second > Short.MAX_VALUE)
+            throw new IllegalArgumentException("An inset must be between " + Short.MIN_VALUE + " and " + Short.MAX_VALUE + ".");
+        return first << 16 | (second & 0xFFFF);
+    }
+
+    static int packModes(FillMode fillMode, Pos anchor)
+    {
+        if (fillMode == null) fillMode = FillMode.BOTH;
+        if (anchor == null) anchor = Pos.CENTER;
+        return fillMode.ordinal() << 8 | anchor.ordinal();
+    }
+}
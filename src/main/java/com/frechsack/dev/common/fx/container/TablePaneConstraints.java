@@ -7,7 +7,9 @@ import javafx.geometry.VPos;
 /**
  * {@link TablePaneConstraints} define how a Node's layout bounds are calculated in a {@link TablePane}.<br> The {@code TablePaneConstraints} specify
  * the layout location (row and column index) and the size (row and column span).<br> The insets in the cell, the anchor and a {@link FillMode} are
- * provided as well.
+ * provided as well.<br> Frozen {@code TablePaneConstraints} are immutable, they are shared by a {@link TablePaneTemplate} or {@link
+ * #intern(TablePaneConstraints) interned}. A copy of them can be modified.<br> The row and column index are logical indices, they stay valid while rows and columns are inserted, removed or moved with
+ * the methods of the {@code TablePane}. A spanned cell covers the following positions, starting at the position of its row and column.
  * @see FillMode
  * @see Pos
  * @see HPos
@@ -20,7 +22,8 @@ public class TablePaneConstraints implements Cloneable
      * Static fields.
      *                                                                             *
      ******************************************************************************/
-    private static TablePaneConstraints nullConstraints;
+    private static final TablePaneConstraintsCache INTERNED = new TablePaneConstraintsCache();
+    private static       TablePaneConstraints      nullConstraints;
 
     /**
      * Returns a set of {@code TablePaneConstraints} to avoid a {@code NullPointerException}
@@ -33,6 +36,44 @@ public class TablePaneConstraints implements Cloneable
         return nullConstraints;
     }
 
+    /**
+     * Returns a shared, frozen instance of {@code TablePaneConstraints} with the given values. Equal values return the same instance while it is in
+     * use, so many children can share one instance instead of owning one each. Use {@link TablePane#add(javafx.scene.Node, int, int,
+     * TablePaneConstraints)} to place children with a shared instance in different cells.
+     *
+     * @param columnIndex The column index (x-value).
+     * @param rowIndex    The row index (y-value).
+     * @param columnSpan  The column span (width).
+     * @param rowSpan     The row span (height).
+     * @param insetTop    The top inset.
+     * @param insetRight  The right inset.
+     * @param insetBottom The bottom inset.
+     * @param insetLeft   The left inset.
+     * @param fillMode    The {@code FillMode}.
+     * @param anchor      The anchor.
+     * @return The frozen {@code TablePaneConstraints}.
+     * @throws IllegalArgumentException If a span is not between 0 and 65535 or an inset does not fit into a short.
+     */
+    public static TablePaneConstraints intern(int columnIndex, int rowIndex, int columnSpan, int rowSpan, int insetTop, int insetRight,
+                                              int insetBottom, int insetLeft, FillMode fillMode, Pos anchor)
+    {
+        return INTERNED.intern(columnIndex, rowIndex, columnSpan, rowSpan, insetTop, insetRight, insetBottom, insetLeft, fillMode, anchor);
+    }
+
+    /**
+     * Returns the shared, frozen instance of {@code TablePaneConstraints} with the values of the given instance.
+     *
+     * @param constraints The values.
+     * @return The frozen {@code TablePaneConstraints}.
+     * @throws IllegalArgumentException If a span is not between 0 and 65535 or an inset does not fit into a short.
+     * @see #intern(int, int, int, int, int, int, int, int, FillMode, Pos)
+     */
+    public static TablePaneConstraints intern(TablePaneConstraints constraints)
+    {
+        return intern(constraints.columnIndex, constraints.rowIndex, constraints.columnSpan, constraints.rowSpan, constraints.insetTop,
+                      constraints.insetRight, constraints.insetBottom, constraints.insetLeft, constraints.fillMode, constraints.anchor);
+    }
+
     /* *****************************************************************************
      *                                                                             *
      * Attributes
@@ -51,6 +92,12 @@ public class TablePaneConstraints implements Cloneable
     private FillMode fillMode = FillMode.BOTH;
     private Pos      anchor   = Pos.CENTER;
 
+    private int             version;
+    // Frozen constraints are shared, for example by a TablePaneTemplate, and can not be modified.
+    private boolean         frozen;
+    // The TablePanes that use these constraints, null until they are used.
+    private TablePaneOwners owners;
+
     /* *****************************************************************************
      *                                                                             *
      * Methods
@@ -108,6 +155,7 @@ public class TablePaneConstraints implements Cloneable
         this.insetBottom = insetBottom;
         this.insetLeft   = insetLeft;
         this.insetRight  = insetRight;
+        this.fillMode    = fillMode;
         this.anchor      = anchor;
     }
 
@@ -190,7 +238,9 @@ public class TablePaneConstraints implements Cloneable
 
     public void setFillMode(FillMode fillMode)
     {
+        requireModifiable();
         this.fillMode = fillMode;
+        modified();
     }
 
     public boolean isSizingBoth()
@@ -232,22 +282,30 @@ public class TablePaneConstraints implements Cloneable
 
     public void setColumnIndex(int columnIndex)
     {
+        requireModifiable();
         this.columnIndex = columnIndex;
+        modified();
     }
 
     public void setRowIndex(int rowIndex)
     {
+        requireModifiable();
         this.rowIndex = rowIndex;
+        modified();
     }
 
     public void setColumnSpan(int columnSpan)
     {
+        requireModifiable();
         this.columnSpan = columnSpan;
+        modified();
     }
 
     public void setRowSpan(int rowSpan)
     {
+        requireModifiable();
         this.rowSpan = rowSpan;
+        modified();
     }
 
     // Inset
@@ -274,22 +332,30 @@ public class TablePaneConstraints implements Cloneable
 
     public void setInsetTop(int insetTop)
     {
+        requireModifiable();
         this.insetTop = insetTop;
+        modified();
     }
 
     public void setInsetBottom(int insetBottom)
     {
+        requireModifiable();
         this.insetBottom = insetBottom;
+        modified();
     }
 
     public void setInsetLeft(int insetLeft)
     {
+        requireModifiable();
         this.insetLeft = insetLeft;
+        modified();
     }
 
     public void setInsetRight(int insetRight)
     {
+        requireModifiable();
         this.insetRight = insetRight;
+        modified();
     }
 
     // Anchor
@@ -316,7 +382,9 @@ public class TablePaneConstraints implements Cloneable
 
     public void setAnchor(Pos anchor)
     {
+        requireModifiable();
         this.anchor = anchor;
+        modified();
     }
 
     public Pos getAnchor()
@@ -324,6 +392,86 @@ public class TablePaneConstraints implements Cloneable
         return anchor;
     }
 
+    /**
+     * Returns {@code TablePaneConstraints} with the values of these ones in another cell.
+     *
+     * @param columnIndex The column index.
+     * @param rowIndex    The row index.
+     * @return This instance if it is placed in the cell already, otherwise a modifiable copy.
+     */
+    TablePaneConstraints atCell(int columnIndex, int rowIndex)
+    {
+        if (this.columnIndex == columnIndex && this.rowIndex == rowIndex) return this;
+        TablePaneConstraints copy = new TablePaneConstraints(this);
+        copy.columnIndex = columnIndex;
+        copy.rowIndex    = rowIndex;
+        return copy;
+    }
+
+    /**
+     * Makes these {@code TablePaneConstraints} immutable. Every setter throws an {@code IllegalStateException} afterwards.
+     */
+    void freeze()
+    {
+        frozen = true;
+    }
+
+    /**
+     * Checks if these {@code TablePaneConstraints} are immutable.
+     *
+     * @return True if they can not be modified.
+     */
+    public boolean isFrozen()
+    {
+        return frozen;
+    }
+
+    private void requireModifiable()
+    {
+        if (frozen) throw new IllegalStateException("The TablePaneConstraints are shared and can not be modified.");
+    }
+
+    /**
+     * Returns the modification stamp of these {@code TablePaneConstraints}. The stamp is changed by every setter, a {@link TablePane} compares it
+     * with the last stamp it has seen to decide if a Node must be measured and relocated again. Each instance counts its own modifications.
+     *
+     * @return The modification stamp.
+     */
+    int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Registers a {@link TablePane} that uses these {@code TablePaneConstraints} for a child. Frozen constraints are never modified, so no {@code
+     * TablePane} is registered.
+     *
+     * @param listener The listener of the {@code TablePane}, that is notified about each modification.
+     */
+    void addOwner(Runnable listener)
+    {
+        // The null constraints are shared by all children without constraints, they are not expected to be modified.
+        if (frozen || this == nullConstraints) return;
+        if (owners == null) owners = new TablePaneOwners();
+        owners.add(listener);
+    }
+
+    /**
+     * Removes one registration of a {@link TablePane}, that does not use these {@code TablePaneConstraints} anymore.
+     *
+     * @param listener The listener of the {@code TablePane}.
+     */
+    void removeOwner(Runnable listener)
+    {
+        if (owners != null) owners.remove(listener);
+    }
+
+    private void modified()
+    {
+        version++;
+        if (owners != null) owners.notifyOwners();
+    }
+
     @Override
     public String toString()
     {
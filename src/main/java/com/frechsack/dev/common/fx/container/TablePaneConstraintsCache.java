@@ -0,0 +1,128 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.geometry.Pos;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link TablePaneConstraintsCache} interns frozen {@link TablePaneConstraints}. Equal values are mapped to one shared instance, so the children
+ * of large grids, that mostly use the same spans, insets, fill mode and anchor, do not own an instance each.<br> The values are packed like the
+ * values of a {@link TablePaneChildState} and used as the key. An instance is held weakly, it is dropped from the cache when it is not used anymore.
+ *
+ * @see TablePaneConstraints#intern(TablePaneConstraints)
+ */
+final class TablePaneConstraintsCache
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final Map<Key, Entry>                     entries = new HashMap<>();
+    private final ReferenceQueue<TablePaneConstraints> queue   = new ReferenceQueue<>();
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Returns the shared instance for the given values. It is created and frozen if there is none.
+     *
+     * @param columnIndex The column index.
+     * @param rowIndex    The row index.
+     * @param columnSpan  The column span.
+     * @param rowSpan     The row span.
+     * @param insetTop    The top inset.
+     * @param insetRight  The right inset.
+     * @param insetBottom The bottom inset.
+     * @param insetLeft   The left inset.
+     * @param fillMode    The {@link FillMode}, null for {@link FillMode#BOTH}.
+     * @param anchor      The anchor, null for {@link Pos#CENTER}.
+     * @return The frozen {@code TablePaneConstraints}.
+     * @throws IllegalArgumentException If a span or an inset can not be packed.
+     */
+    synchronized TablePaneConstraints intern(int columnIndex, int rowIndex, int columnSpan, int rowSpan, int insetTop, int insetRight,
+                                             int insetBottom, int insetLeft, FillMode fillMode, Pos anchor)
+    {
+        purge();
+        if (fillMode == null) fillMode = FillMode.BOTH;
+        if (anchor == null) anchor = Pos.CENTER;
+        Key key = new Key(columnIndex, rowIndex, TablePaneChildState.packSpans(columnSpan, rowSpan),
+                          TablePaneChildState.packInsets(insetTop, insetBottom), TablePaneChildState.packInsets(insetLeft, insetRight),
+                          TablePaneChildState.packModes(fillMode, anchor));
+        Entry                entry       = entries.get(key);
+        TablePaneConstraints constraints = entry == null ? null : entry.get();
+        if (constraints != null) return constraints;
+        constraints = new TablePaneConstraints(columnIndex, rowIndex, columnSpan, rowSpan, insetTop, insetRight, insetBottom, insetLeft, fillMode,
+                                               anchor);
+        constraints.freeze();
+        entries.put(key, new Entry(constraints, key, queue));
+        return constraints;
+    }
+
+    /**
+     * Removes the entries whose instances have been collected.
+     */
+    private void purge()
+    {
+        for (Object reference = queue.poll(); reference != null; reference = queue.poll())
+        {
+            Entry entry = (Entry) reference;
+            // The key may already map to a new instance.
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * The packed values of interned constraints.
+     */
+    private static final class Key
+    {
+        private final long position;
+        private final long insets;
+        private final long layout;
+        private final int  hash;
+
+        private Key(int column, int row, int spans, int verticalInsets, int horizontalInsets, int modes)
+        {
+            position = (long) column << 32 | (row & 0xFFFFFFFFL);
+            insets   = (long) verticalInsets << 32 | (horizontalInsets & 0xFFFFFFFFL);
+            layout   = (long) spans << 32 | (modes & 0xFFFFFFFFL);
+            hash     = 31 * (31 * Long.hashCode(position) + Long.hashCode(insets)) + Long.hashCode(layout);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return position == key.position && insets == key.insets && layout == key.layout;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    /**
+     * A weak reference to an interned instance, that knows its key.
+     */
+    private static final class Entry extends WeakReference<TablePaneConstraints>
+    {
+        private final Key key;
+
+        private Entry(TablePaneConstraints constraints, Key key, ReferenceQueue<TablePaneConstraints> queue)
+        {
+            super(constraints, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.frechsack.dev.common.fx.container;
+
+/**
+ * Indicates where a {@link TablePane} stores the {@link TablePaneConstraints} of its children.<br> {@link #NODE} stores the {@code
+ * TablePaneConstraints} in the properties of each Node.<br> {@link #PANE} packs the {@code TablePaneConstraints} into primitive arrays of the {@code
+ * TablePane}, which avoids a property map per Node in large grids.
+ *
+ * @see TablePane
+ * @see TablePaneConstraints
+ */
+public enum TablePaneConstraintsStorage
+{
+    /**
+     * The {@code TablePaneConstraints} are stored in the properties of each Node.
+     */
+    NODE,
+    /**
+     * The {@code TablePaneConstraints} are packed into primitive arrays of the {@code TablePane}.
+     */
+    PANE;
+}
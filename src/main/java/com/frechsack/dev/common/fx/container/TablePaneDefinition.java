@@ -7,6 +7,8 @@ package com.frechsack.dev.common.fx.container;
  * {@link SizeMode#AUTO_SIZE} The size property is used as an additional size. The value of it will be added to the calculated size of the content.<br>
  * {@link SizeMode#RELATIVE} The size property is used as a relative value from 0 - 1.0.<br>
  * {@link SizeMode#ABSOLUTE} The max size property is ignored.<br>
+ * A frozen {@code TablePaneDefinition} is immutable, it is shared by a {@link TablePaneTemplate}. A copy of it can be modified.<br>
+ * A resizable {@code TablePaneDefinition} can be resized by dragging its trailing grid line, it becomes {@link SizeMode#ABSOLUTE} then.<br>
  *
  *
  * @see SizeMode
@@ -19,10 +21,16 @@ public class TablePaneDefinition implements Cloneable
      * Attributes
      *                                                                             *
      ******************************************************************************/
-    private SizeMode sizeMode;
-    private double   size;
-    private double   minSize = -1;
-    private double   maxSize = -1;
+    private SizeMode        sizeMode;
+    private double          size;
+    private double          minSize = -1;
+    private double          maxSize = -1;
+    private boolean         resizable;
+    private int             version;
+    // A frozen definition is shared by a TablePaneTemplate and can not be modified.
+    private boolean         frozen;
+    // The TablePanes that use this definition, null until it is used.
+    private TablePaneOwners owners;
 
     /* *****************************************************************************
      *                                                                             *
@@ -80,10 +88,11 @@ public class TablePaneDefinition implements Cloneable
      */
     public TablePaneDefinition(TablePaneDefinition copy)
     {
-        this.sizeMode = copy.sizeMode;
-        this.size     = copy.size;
-        this.minSize  = copy.minSize;
-        this.maxSize  = copy.maxSize;
+        this.sizeMode  = copy.sizeMode;
+        this.size      = copy.size;
+        this.minSize   = copy.minSize;
+        this.maxSize   = copy.maxSize;
+        this.resizable = copy.resizable;
     }
 
     // Size Mode
@@ -110,14 +119,18 @@ public class TablePaneDefinition implements Cloneable
 
     public void setSizeMode(SizeMode sizeMode)
     {
+        requireModifiable();
         this.sizeMode = sizeMode;
+        modified();
     }
 
     // Size
 
     public void setSize(double size)
     {
+        requireModifiable();
         this.size = size;
+        modified();
     }
 
     public double getSize()
@@ -147,12 +160,105 @@ public class TablePaneDefinition implements Cloneable
 
     public void setMaxSize(double maxSize)
     {
+        requireModifiable();
         this.maxSize = maxSize;
+        modified();
     }
 
     public void setMinSize(double minSize)
     {
+        requireModifiable();
         this.minSize = minSize;
+        modified();
+    }
+
+    // Resizing
+
+    /**
+     * Checks if this row or column can be resized by the user. The grid line at the end of the row or column acts as a resize handle.
+     *
+     * @return True if this row or column is resizable.
+     */
+    public boolean isResizable()
+    {
+        return resizable;
+    }
+
+    /**
+     * Sets if this row or column can be resized by the user. A {@link TablePane} only handles the mouse events of its grid lines, while one of its
+     * rows or columns is resizable.
+     *
+     * @param resizable True if this row or column should be resizable.
+     */
+    public void setResizable(boolean resizable)
+    {
+        requireModifiable();
+        if (this.resizable == resizable) return;
+        this.resizable = resizable;
+        modified();
+    }
+
+    /**
+     * Makes this {@code TablePaneDefinition} immutable. Every setter throws an {@code IllegalStateException} afterwards.
+     */
+    void freeze()
+    {
+        frozen = true;
+    }
+
+    /**
+     * Checks if this {@code TablePaneDefinition} is immutable.
+     *
+     * @return True if it can not be modified.
+     */
+    public boolean isFrozen()
+    {
+        return frozen;
+    }
+
+    private void requireModifiable()
+    {
+        if (frozen) throw new IllegalStateException("The TablePaneDefinition is shared and can not be modified.");
+    }
+
+    /**
+     * Returns the modification stamp of this {@code TablePaneDefinition}. The stamp is changed by every setter, a {@link TablePane} compares it
+     * with the last stamp it has seen to decide if the row or column must be solved again. Each instance counts its own modifications.
+     *
+     * @return The modification stamp.
+     */
+    int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Registers a {@link TablePane} that uses this {@code TablePaneDefinition} as a row or column. A frozen definition is never modified, so no
+     * {@code TablePane} is registered.
+     *
+     * @param listener The listener of the {@code TablePane}, that is notified about each modification.
+     */
+    void addOwner(Runnable listener)
+    {
+        if (frozen) return;
+        if (owners == null) owners = new TablePaneOwners();
+        owners.add(listener);
+    }
+
+    /**
+     * Removes one registration of a {@link TablePane}, that does not use this {@code TablePaneDefinition} anymore.
+     *
+     * @param listener The listener of the {@code TablePane}.
+     */
+    void removeOwner(Runnable listener)
+    {
+        if (owners != null) owners.remove(listener);
+    }
+
+    private void modified()
+    {
+        version++;
+        if (owners != null) owners.notifyOwners();
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
@@ -0,0 +1,49 @@
+package com.frechsack.dev.common.fx.container;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@link TablePaneLayoutEvent} is a JDK Flight Recorder event that records a layout pass or a size calculation of a {@link TablePane}.<br>
+ * The event is disabled by default, it can be enabled in a recording by its name. While it is disabled, the event is not committed and its fields
+ * are not set.
+ *
+ * @see TablePane
+ */
+@Name("com.frechsack.dev.common.fx.TablePaneLayout")
+@Label("TablePane Layout")
+@Description("A layout pass or a size calculation of a TablePane")
+@Category({"JavaFX", "Layout"})
+@Enabled(false)
+final class TablePaneLayoutEvent extends Event
+{
+    // The operations that are recorded.
+    static final String LAYOUT      = "layoutChildren";
+    static final String PREF_WIDTH  = "computePrefWidth";
+    static final String PREF_HEIGHT = "computePrefHeight";
+    static final String MIN_WIDTH   = "computeMinWidth";
+    static final String MIN_HEIGHT  = "computeMinHeight";
+    static final String MAX_WIDTH   = "computeMaxWidth";
+    static final String MAX_HEIGHT  = "computeMaxHeight";
+
+    @Label("Operation")
+    String operation;
+    @Label("Pane Id")
+    String paneId;
+    @Label("Child Count")
+    int    childCount;
+    @Label("Column Count")
+    int    columnCount;
+    @Label("Row Count")
+    int    rowCount;
+    @Label("Preferred Size Queries")
+    @Description("The number of children that have been measured")
+    long   prefSizeQueries;
+    @Label("Nodes Relocated")
+    @Description("The number of children that have been resized or relocated")
+    long   nodesRelocated;
+}
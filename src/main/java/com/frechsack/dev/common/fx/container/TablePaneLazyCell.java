@@ -0,0 +1,115 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link TablePaneLazyCell} is a child of a {@link TablePane}, that creates its Node when it becomes visible for the first time.<br> Until then,
+ * the preferred size of the cell is an estimated size. The {@code TablePane} materializes the cell when its area intersects the viewport of the
+ * enclosing {@link javafx.scene.control.ScrollPane}, the Node is created by the supplier and fills the cell. A cell that is far away from the
+ * viewport can be discarded again, then it keeps the preferred size of its last Node until the Node is created again.
+ *
+ * @see TablePane#addLazy(Supplier, TablePaneConstraints, double, double)
+ * @see TablePane#setLazyDiscardDistance(double)
+ */
+public final class TablePaneLazyCell extends Region
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final Supplier<? extends Node> supplier;
+    // The size that is used while no Node exists.
+    private       double                   estimatedWidth;
+    private       double                   estimatedHeight;
+    private       Node                     node;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneLazyCell}.
+     *
+     * @param supplier        Creates the Node of the cell.
+     * @param estimatedWidth  The width that is used until the Node is created.
+     * @param estimatedHeight The height that is used until the Node is created.
+     */
+    TablePaneLazyCell(Supplier<? extends Node> supplier, double estimatedWidth, double estimatedHeight)
+    {
+        this.supplier        = Objects.requireNonNull(supplier);
+        this.estimatedWidth  = estimatedWidth;
+        this.estimatedHeight = estimatedHeight;
+    }
+
+    /**
+     * Checks if the Node of this cell exists.
+     *
+     * @return True if the Node has been created and not discarded.
+     */
+    public boolean isMaterialized()
+    {
+        return node != null;
+    }
+
+    /**
+     * Returns the Node of this cell.
+     *
+     * @return The Node, null if it has not been created yet or has been discarded.
+     */
+    public Node getNode()
+    {
+        return node;
+    }
+
+    /**
+     * Creates the Node of this cell, if it does not exist. Can be called to access the Node before it is visible, for example to validate a form.
+     *
+     * @return The Node.
+     */
+    public Node materialize()
+    {
+        if (node != null) return node;
+        node = Objects.requireNonNull(supplier.get(), "The supplier must create a Node.");
+        getChildren().add(node);
+        // A Control has no skin and no preferred size before the css is applied.
+        if (getScene() != null) node.applyCss();
+        return node;
+    }
+
+    /**
+     * Removes the Node of this cell. The cell keeps the preferred size of the Node.
+     */
+    void discard()
+    {
+        if (node == null) return;
+        estimatedWidth  = node.prefWidth(-1);
+        estimatedHeight = node.prefHeight(-1);
+        getChildren().clear();
+        node = null;
+    }
+
+    @Override
+    protected void layoutChildren()
+    {
+        if (node != null) node.resizeRelocate(0, 0, getWidth(), getHeight());
+    }
+
+    @Override
+    protected double computePrefWidth(double height)
+    {
+        return node != null ? node.prefWidth(height) : estimatedWidth;
+    }
+
+    @Override
+    protected double computePrefHeight(double width)
+    {
+        return node != null ? node.prefHeight(width) : estimatedHeight;
+    }
+}
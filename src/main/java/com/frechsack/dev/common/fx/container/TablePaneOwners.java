@@ -0,0 +1,85 @@
+package com.frechsack.dev.common.fx.container;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * A {@link TablePaneOwners} notifies the {@link TablePane TablePanes}, that use a {@link TablePaneDefinition} or {@link TablePaneConstraints}, about
+ * a modification of it.<br> Only the {@code TablePanes} that use the modified instance check their rows, columns or children again, a modification
+ * of another instance does not concern them. A {@code TablePane} registers one listener per use of the instance, the same listener can be
+ * registered several times. The listeners are referenced weakly, so a shared instance does not keep a {@code TablePane} alive.
+ *
+ * @see TablePane
+ */
+final class TablePaneOwners
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private WeakReference<?>[] listeners = new WeakReference<?>[2];
+    private int                size;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Adds a listener. The caller must keep a strong reference to it.
+     *
+     * @param listener The listener.
+     */
+    void add(Runnable listener)
+    {
+        if (size == listeners.length)
+        {
+            // Listeners of garbage collected TablePanes are dropped, before the array grows.
+            purge();
+            if (size == listeners.length) listeners = Arrays.copyOf(listeners, size * 2);
+        }
+        listeners[size++] = new WeakReference<>(listener);
+    }
+
+    /**
+     * Removes one registration of a listener.
+     *
+     * @param listener The listener.
+     */
+    void remove(Runnable listener)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (listeners[i].get() != listener) continue;
+            System.arraycopy(listeners, i + 1, listeners, i, size - i - 1);
+            listeners[--size] = null;
+            return;
+        }
+    }
+
+    /**
+     * Notifies all listeners about a modification.
+     */
+    void notifyOwners()
+    {
+        boolean cleared = false;
+        for (int i = 0; i < size; i++)
+        {
+            Object listener = listeners[i].get();
+            if (listener == null) cleared = true;
+            else ((Runnable) listener).run();
+        }
+        if (cleared) purge();
+    }
+
+    private void purge()
+    {
+        int kept = 0;
+        for (int i = 0; i < size; i++)
+            if (listeners[i].get() != null) listeners[kept++] = listeners[i];
+        Arrays.fill(listeners, kept, size, null);
+        size = kept;
+    }
+}
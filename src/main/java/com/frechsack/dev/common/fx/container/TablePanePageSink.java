@@ -0,0 +1,24 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+
+/**
+ * A {@link TablePanePageSink} receives the pages of a {@link TablePane}, that are rendered one after another by a {@link TablePanePaginator}.<br>
+ * The image of a page is reused for the next page, so only one page is held in memory. A sink must write or copy the image before it returns.
+ *
+ * @see TablePanePaginator#render(TablePanePageSink)
+ */
+@FunctionalInterface
+public interface TablePanePageSink
+{
+    /**
+     * Receives a rendered page.
+     *
+     * @param pageIndex The index of the page, starting with zero.
+     * @param page      The image of the page, it is reused for the next page.
+     * @throws IOException If the page can not be written.
+     */
+    void acceptPage(int pageIndex, WritableImage page) throws IOException;
+}
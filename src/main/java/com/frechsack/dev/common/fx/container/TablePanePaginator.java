@@ -0,0 +1,241 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Rectangle2D;
+import javafx.print.PageLayout;
+import javafx.print.PrinterJob;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.shape.Rectangle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link TablePanePaginator} splits a {@link TablePane} into pages, to print or export it.<br> The {@code TablePane} is laid out with the width
+ * of a page and its preferred height for this width. A page ends at the last grid line between two rows that fits on it, a row is only split if it
+ * is taller than a page. Content that is wider than a page is cut off.<br> The pages are produced one after another: the {@code TablePane} lays
+ * out the children of the current page only, with its {@link TablePane#setViewportCulling(boolean) viewport culling}, and each page is printed or
+ * rendered before the next page is laid out. No page is kept, a {@link TablePanePageSink} receives the same image for every page.<br> While the
+ * pages are produced, the size, clip and translation of the {@code TablePane} are changed, they are restored afterwards. The {@code TablePane}
+ * should not be displayed meanwhile. A paginator must be used on the JavaFX Application Thread.
+ *
+ * @see TablePanePageSink
+ */
+public final class TablePanePaginator
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final TablePane  tablePane;
+    private final double     pageWidth;
+    private final double     pageHeight;
+    // The layout of the printed pages, null if the default layout of the PrinterJob is used.
+    private final PageLayout pageLayout;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePanePaginator} with the given page size.
+     *
+     * @param tablePane  The {@code TablePane}.
+     * @param pageWidth  The width of a page.
+     * @param pageHeight The height of a page.
+     * @throws IllegalArgumentException If the width or height is not positive.
+     */
+    public TablePanePaginator(TablePane tablePane, double pageWidth, double pageHeight)
+    {
+        this(tablePane, pageWidth, pageHeight, null);
+    }
+
+    /**
+     * Creates a new instance of {@code TablePanePaginator}, whose pages are the printable area of a {@link PageLayout}.
+     *
+     * @param tablePane  The {@code TablePane}.
+     * @param pageLayout The {@code PageLayout}, that is used to print the pages.
+     */
+    public TablePanePaginator(TablePane tablePane, PageLayout pageLayout)
+    {
+        this(tablePane, pageLayout.getPrintableWidth(), pageLayout.getPrintableHeight(), pageLayout);
+    }
+
+    private TablePanePaginator(TablePane tablePane, double pageWidth, double pageHeight, PageLayout pageLayout)
+    {
+        if (!(pageWidth > 0) || !(pageHeight > 0))
+            throw new IllegalArgumentException("The page size must be positive: " + pageWidth + "x" + pageHeight);
+        this.tablePane  = tablePane;
+        this.pageWidth  = pageWidth;
+        this.pageHeight = pageHeight;
+        this.pageLayout = pageLayout;
+    }
+
+    /**
+     * Returns the number of pages. The {@code TablePane} is laid out to find the page breaks, the pages are not rendered.
+     *
+     * @return The number of pages, at least one.
+     */
+    public int getPageCount()
+    {
+        try
+        {
+            return paginate(null);
+        }
+        catch (IOException e)
+        {
+            // Not rendering the pages can not fail.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints all pages, one after another.
+     *
+     * @param job The {@code PrinterJob}, it is not ended.
+     * @return True if all pages have been printed, false if the {@code PrinterJob} failed to print a page.
+     */
+    public boolean print(PrinterJob job)
+    {
+        final boolean[] printed = {true};
+        try
+        {
+            paginate((index, start, end) -> printed[0] = pageLayout == null ? job.printPage(tablePane) : job.printPage(pageLayout, tablePane));
+        }
+        catch (IOException e)
+        {
+            // Printing does not write to a sink.
+            throw new UncheckedIOException(e);
+        }
+        return printed[0];
+    }
+
+    /**
+     * Renders all pages into an image, one after another, and passes the image of each page to a {@link TablePanePageSink}. The image has the
+     * size of a page, the area of the last page behind the {@code TablePane} is filled white.
+     *
+     * @param sink The {@code TablePanePageSink}.
+     * @return The number of pages.
+     * @throws IOException If the sink fails to write a page, the remaining pages are not rendered.
+     */
+    public int render(TablePanePageSink sink) throws IOException
+    {
+        SnapshotParameters parameters = new SnapshotParameters();
+        WritableImage      image      = new WritableImage((int) Math.ceil(pageWidth), (int) Math.ceil(pageHeight));
+        return paginate((index, start, end) ->
+        {
+            // The page is moved to the position of the TablePane in its parent.
+            parameters.setViewport(new Rectangle2D(tablePane.getBoundsInParent().getMinX(), tablePane.getBoundsInParent().getMinY(),
+                                                   image.getWidth(), image.getHeight()));
+            tablePane.snapshot(parameters, image);
+            sink.acceptPage(index, image);
+            return true;
+        });
+    }
+
+    /**
+     * Lays out the {@code TablePane} with the width of a page and passes each page to a handler. The state of the {@code TablePane} is restored
+     * afterwards.
+     *
+     * @param handler The handler of the pages, null if the pages should only be counted.
+     * @return The number of handled pages.
+     * @throws IOException If the handler fails.
+     */
+    private int paginate(PageHandler handler) throws IOException
+    {
+        final double  WIDTH       = tablePane.getWidth();
+        final double  HEIGHT      = tablePane.getHeight();
+        final Node    CLIP        = tablePane.getClip();
+        final double  TRANSLATE_Y = tablePane.getTranslateY();
+        final boolean CULLING     = tablePane.isViewportCulling();
+        int           count       = 0;
+        try
+        {
+            tablePane.setViewportCulling(true);
+            tablePane.resize(pageWidth, tablePane.prefHeight(pageWidth));
+            // The first layout pass solves the rows, only the children on the first page are laid out.
+            layoutPage(0, pageHeight);
+            final double TOTAL_HEIGHT = tablePane.getHeight();
+            Rectangle    clip         = new Rectangle(0, 0, pageWidth, 0);
+            double       start        = 0;
+            do
+            {
+                double end = findPageEnd(start, TOTAL_HEIGHT);
+                if (handler != null)
+                {
+                    layoutPage(start, end);
+                    clip.setY(start);
+                    clip.setHeight(end - start);
+                    tablePane.setClip(clip);
+                    tablePane.setTranslateY(-start);
+                    if (!handler.handlePage(count, start, end)) return count + 1;
+                }
+                count++;
+                start = end;
+            } while (start < TOTAL_HEIGHT);
+            return count;
+        }
+        finally
+        {
+            tablePane.setPageViewport(null);
+            tablePane.setClip(CLIP);
+            tablePane.setTranslateY(TRANSLATE_Y);
+            tablePane.setViewportCulling(CULLING);
+            tablePane.resize(WIDTH, HEIGHT);
+            // Children that have been culled for a page are laid out again.
+            tablePane.layout();
+        }
+    }
+
+    /**
+     * Lays out the children of a page.
+     *
+     * @param start The start of the page.
+     * @param end   The end of the page.
+     */
+    private void layoutPage(double start, double end)
+    {
+        tablePane.setPageViewport(new BoundingBox(0, start, pageWidth, end - start));
+        tablePane.layout();
+    }
+
+    /**
+     * Searches the end of the page that starts at a position.
+     *
+     * @param start       The start of the page.
+     * @param totalHeight The height of the {@code TablePane}.
+     * @return The last grid line between two rows on the page, the end of the page if a row is taller than the page.
+     */
+    private double findPageEnd(double start, double totalHeight)
+    {
+        final double LIMIT = start + pageHeight;
+        if (LIMIT >= totalHeight) return totalHeight;
+        double[] lines = tablePane.getRowOffsets();
+        if (lines == null) return LIMIT;
+        int line = TablePane.searchLine(lines, Math.nextUp(LIMIT)) - 1;
+        return line >= 0 && lines[line] > start ? lines[line] : LIMIT;
+    }
+
+    /**
+     * Handles a page, while the {@code TablePane} shows it.
+     */
+    @FunctionalInterface
+    private interface PageHandler
+    {
+        /**
+         * Handles a page.
+         *
+         * @param index The index of the page.
+         * @param start The start of the page in the {@code TablePane}.
+         * @param end   The end of the page in the {@code TablePane}.
+         * @return False if the remaining pages should not be handled.
+         * @throws IOException If the page can not be handled.
+         */
+        boolean handlePage(int index, double start, double end) throws IOException;
+    }
+}
@@ -0,0 +1,134 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.Cursor;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link TablePaneResizeHandler} turns the grid lines of a {@link TablePane} into resize handles. It is registered as an event filter, so the
+ * handles work above the children of the {@code TablePane} too.<br> The grid line at the end of a resizable {@link TablePaneDefinition} is a
+ * handle. While the mouse is above a handle, the cursor of the {@code TablePane} is changed. Dragging a handle resizes the row or column with
+ * {@link TablePane#resizeColumn(int, double)} or {@link TablePane#resizeRow(int, double)}. The mouse events of a drag are consumed.
+ *
+ * @see TablePaneDefinition#setResizable(boolean)
+ */
+final class TablePaneResizeHandler implements EventHandler<MouseEvent>
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    // The distance from a grid line, in which the mouse is above the handle.
+    private static final double    HANDLE_SIZE = 3;
+    private final        TablePane tablePane;
+    // The track whose handle is below the mouse or dragged, -1 if there is none.
+    private              int       track       = -1;
+    private              boolean   horizontal;
+    private              boolean   dragging;
+    private              Cursor    previousCursor;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneResizeHandler}.
+     *
+     * @param tablePane The {@code TablePane} whose grid lines are handles.
+     */
+    TablePaneResizeHandler(TablePane tablePane)
+    {
+        this.tablePane = tablePane;
+    }
+
+    @Override
+    public void handle(MouseEvent event)
+    {
+        EventType<? extends MouseEvent> type = event.getEventType();
+        if (type == MouseEvent.MOUSE_MOVED) updateHandle(event.getX(), event.getY());
+        else if (type == MouseEvent.MOUSE_EXITED && !dragging) updateHandle(Double.NaN, Double.NaN);
+        else if (type == MouseEvent.MOUSE_PRESSED && track != -1 && event.getButton() == MouseButton.PRIMARY)
+        {
+            dragging = true;
+            event.consume();
+        }
+        else if (type == MouseEvent.MOUSE_DRAGGED && dragging)
+        {
+            // The track ends at the mouse, the offsets of the last layout pass contain the start of the track.
+            double[] offsets = horizontal ? tablePane.getColumnOffsets() : tablePane.getRowOffsets();
+            if (offsets != null && track < offsets.length - 1)
+            {
+                if (horizontal) tablePane.resizeColumn(track, event.getX() - offsets[track]);
+                else tablePane.resizeRow(track, event.getY() - offsets[track]);
+            }
+            event.consume();
+        }
+        else if (type == MouseEvent.MOUSE_RELEASED && dragging)
+        {
+            dragging = false;
+            updateHandle(event.getX(), event.getY());
+            event.consume();
+        }
+        else if ((type == MouseEvent.MOUSE_CLICKED || type == MouseEvent.DRAG_DETECTED) && dragging) event.consume();
+    }
+
+    /**
+     * Ends a drag and restores the cursor of the {@code TablePane}, before the handler is removed.
+     */
+    void reset()
+    {
+        dragging = false;
+        updateHandle(Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Searches the handle below the mouse and updates the cursor of the {@code TablePane}.
+     *
+     * @param x The x position of the mouse, NaN if the mouse is outside.
+     * @param y The y position of the mouse, NaN if the mouse is outside.
+     */
+    private void updateHandle(double x, double y)
+    {
+        double[] columnOffsets = tablePane.getColumnOffsets();
+        double[] rowOffsets    = tablePane.getRowOffsets();
+        int      column        = findHandle(tablePane.getColumnList(), columnOffsets, x, rowOffsets, y);
+        int      row           = column == -1 ? findHandle(tablePane.getRowList(), rowOffsets, y, columnOffsets, x) : -1;
+        int      oldTrack      = track;
+        track      = column != -1 ? column : row;
+        horizontal = column != -1;
+        if (oldTrack == -1 && track != -1) previousCursor = tablePane.getCursor();
+        if (track != -1) tablePane.setCursor(horizontal ? Cursor.H_RESIZE : Cursor.V_RESIZE);
+        else if (oldTrack != -1) tablePane.setCursor(previousCursor);
+    }
+
+    /**
+     * Searches the resizable track whose trailing grid line is next to a position. The line must be within the grid on the other axis.
+     *
+     * @param definitions  The tracks.
+     * @param offsets      The offsets of the tracks.
+     * @param position     The position on the axis of the tracks.
+     * @param crossOffsets The offsets of the tracks on the other axis.
+     * @param crossing     The position on the other axis.
+     * @return The index of the track, or -1 if there is no handle at the position.
+     */
+    private static int findHandle(List<TablePaneDefinition> definitions, double[] offsets, double position, double[] crossOffsets, double crossing)
+    {
+        if (offsets == null || crossOffsets == null || offsets.length != definitions.size() + 1 || crossOffsets.length < 2) return -1;
+        if (!(crossing >= crossOffsets[0] && crossing <= crossOffsets[crossOffsets.length - 1])) return -1;
+        // The offsets are sorted, the nearest grid line is next to the insertion point.
+        int index = Arrays.binarySearch(offsets, position);
+        if (index < 0) index = -index - 1;
+        // Several lines can share a position if a track is empty, the handle belongs to the last of them.
+        for (int line = Math.min(index + 1, offsets.length - 1); line >= Math.max(index - 1, 1); line--)
+            if (Math.abs(offsets[line] - position) <= HANDLE_SIZE && definitions.get(line - 1).isResizable()) return line - 1;
+        return -1;
+    }
+}
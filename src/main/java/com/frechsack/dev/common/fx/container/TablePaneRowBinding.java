@@ -0,0 +1,299 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link TablePaneRowBinding} shows the items of an {@link ObservableList} as rows of a {@link TablePane}. Each item is shown in one row, the
+ * cells of a row are created by a {@link TablePaneRowFactory}.<br> A change of the list is applied as a minimal set of row modifications. A row is
+ * identified by the key of its item: if an item is replaced by another item with the same key, the row and its cells are kept and updated. Removed
+ * rows are removed, new rows are inserted and reordered rows are permuted, the other rows and their cells are not touched. All cells that are added
+ * or removed by one list change are added or removed with a single change of the children list, and only one layout is requested.<br> The bound
+ * rows follow the rows that existed when the binding was created. Rows that are added or removed in front of the bound rows while the binding is
+ * active move the bound rows, rows inserted between them are not supported.
+ *
+ * @param <T> The type of the items.
+ * @see TablePane#bindRows(ObservableList, Function, TablePaneRowFactory)
+ * @see TablePaneRowFactory
+ */
+public final class TablePaneRowBinding<T>
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private final TablePane                      tablePane;
+    private final ObservableList<T>              items;
+    private final Function<? super T, ?>         keyExtractor;
+    private final TablePaneRowFactory<? super T> rowFactory;
+    private final ListChangeListener<T>          itemsListener = this::onItemsChanged;
+    // The bound rows, in the order of the items.
+    private final List<Row<T>>                   rows          = new ArrayList<>();
+    // The position of the first bound row, if there is no bound row.
+    private       int                            firstRow;
+    private       boolean                        bound;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneRowBinding}, creates a row for each item and observes the list.
+     *
+     * @param tablePane    The {@code TablePane}.
+     * @param items        The items.
+     * @param keyExtractor The function that returns the key of an item.
+     * @param rowFactory   The {@code TablePaneRowFactory}.
+     */
+    TablePaneRowBinding(TablePane tablePane, ObservableList<T> items, Function<? super T, ?> keyExtractor, TablePaneRowFactory<? super T> rowFactory)
+    {
+        this.tablePane    = tablePane;
+        this.items        = Objects.requireNonNull(items);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.rowFactory   = Objects.requireNonNull(rowFactory);
+        firstRow          = tablePane.getRowList().size();
+        List<Node> addedCells = new ArrayList<>();
+        rows.addAll(insertRows(firstRow, items, addedCells));
+        tablePane.getChildren().addAll(addedCells);
+        tablePane.requestTrackLayout();
+        items.addListener(itemsListener);
+        bound = true;
+    }
+
+    /**
+     * Stops observing the list. The rows and their cells are kept in the {@code TablePane}.
+     */
+    public void unbind()
+    {
+        if (!bound) return;
+        bound = false;
+        items.removeListener(itemsListener);
+    }
+
+    /**
+     * Checks if the list is observed.
+     *
+     * @return True if the list is observed.
+     */
+    public boolean isBound()
+    {
+        return bound;
+    }
+
+    /**
+     * Returns the number of bound rows.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount()
+    {
+        return rows.size();
+    }
+
+    /**
+     * Returns the logical index of the row of an item.
+     *
+     * @param itemIndex The index of the item in the list.
+     * @return The logical row index, that is used by the {@link TablePaneConstraints} of the cells.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public int getRowIndex(int itemIndex)
+    {
+        return rows.get(itemIndex).rowIndex;
+    }
+
+    private void onItemsChanged(ListChangeListener.Change<? extends T> change)
+    {
+        // Bound rows follow the rows in front of them.
+        if (!rows.isEmpty()) firstRow = tablePane.getRowPosition(rows.get(0).rowIndex);
+        List<Node> addedCells   = new ArrayList<>();
+        Set<Node>  removedCells = new HashSet<>();
+        while (change.next())
+        {
+            if (change.wasPermutated()) permute(change.getFrom(), change.getTo(), change::getPermutation);
+            else if (change.wasUpdated())
+            {
+                for (int i = change.getFrom(); i < change.getTo(); i++) updateRow(rows.get(i), items.get(i));
+            }
+            else replace(change.getFrom(), change.getRemovedSize(), change.getAddedSubList(), addedCells, removedCells);
+        }
+        if (!removedCells.isEmpty()) tablePane.getChildren().removeAll(removedCells);
+        if (!addedCells.isEmpty()) tablePane.getChildren().addAll(addedCells);
+        tablePane.requestTrackLayout();
+    }
+
+    /**
+     * Reorders the rows of a permutated range of items.
+     *
+     * @param from        The first index of the range.
+     * @param to          The end of the range.
+     * @param permutation The new index of each old index.
+     */
+    private void permute(int from, int to, IntUnaryOperator permutation)
+    {
+        int[]        order    = identity(tablePane.getRowList().size());
+        List<Row<T>> previous = new ArrayList<>(rows.subList(from, to));
+        for (int i = from; i < to; i++)
+        {
+            int target = permutation.applyAsInt(i);
+            order[firstRow + target] = firstRow + i;
+            rows.set(target, previous.get(i - from));
+        }
+        tablePane.permuteRowTracks(order);
+    }
+
+    /**
+     * Replaces the rows of removed items with the rows of added items. The row of a removed item is reused for an added item with the same key.
+     *
+     * @param from         The index of the first removed and added item.
+     * @param removedSize  The number of removed items.
+     * @param added        The added items.
+     * @param addedCells   Collects the cells that must be added to the {@code TablePane}.
+     * @param removedCells Collects the cells that must be removed from the {@code TablePane}.
+     */
+    private void replace(int from, int removedSize, List<? extends T> added, List<Node> addedCells, Set<Node> removedCells)
+    {
+        // The rows of the removed items are available for reuse, a duplicated key is not reused.
+        Map<Object, Row<T>> reusable  = new HashMap<>();
+        List<Row<T>>        discarded = new ArrayList<>();
+        for (int i = from; i < from + removedSize; i++)
+        {
+            Row<T> row = rows.get(i);
+            if (reusable.putIfAbsent(keyExtractor.apply(row.item), row) != null) discarded.add(row);
+        }
+        List<Row<T>> placed   = new ArrayList<>(added.size());
+        List<T>      inserted = new ArrayList<>();
+        for (T item : added)
+        {
+            Row<T> row = reusable.remove(keyExtractor.apply(item));
+            if (row != null && row.item != item) updateRow(row, item);
+            if (row == null) inserted.add(item);
+            placed.add(row);
+        }
+        discarded.addAll(reusable.values());
+        // Remove the rows that are not reused, the reused rows keep their order at the start of the range.
+        BitSet removedRows = new BitSet();
+        for (Row<T> row : discarded)
+        {
+            removedRows.set(tablePane.getRowPosition(row.rowIndex));
+            removeCells(row, removedCells);
+        }
+        tablePane.removeRowTracks(removedRows);
+        rows.subList(from, from + removedSize).clear();
+        // New rows are inserted behind the reused rows.
+        Iterator<Row<T>> created = insertRows(firstRow + from + removedSize - discarded.size(), inserted, addedCells).iterator();
+        for (int i = 0; i < placed.size(); i++)
+            if (placed.get(i) == null) placed.set(i, created.next());
+        rows.addAll(from, placed);
+        // Move the reused and new rows into the order of the items, if they are not in order yet.
+        int[] order = null;
+        for (int i = 0; i < placed.size(); i++)
+        {
+            int position = tablePane.getRowPosition(placed.get(i).rowIndex);
+            if (position == firstRow + from + i && order == null) continue;
+            if (order == null) order = identity(tablePane.getRowList().size());
+            order[firstRow + from + i] = position;
+        }
+        if (order != null) tablePane.permuteRowTracks(order);
+    }
+
+    /**
+     * Inserts a row for each item with a single insertion of tracks, and creates the cells of the rows.
+     *
+     * @param position   The position of the first row.
+     * @param items      The items.
+     * @param addedCells Collects the cells that must be added to the {@code TablePane}.
+     * @return The new rows, in the order of the items.
+     */
+    private List<Row<T>> insertRows(int position, List<? extends T> items, List<Node> addedCells)
+    {
+        List<TablePaneDefinition> definitions = new ArrayList<>(items.size());
+        for (T item : items) definitions.add(rowFactory.createRow(item));
+        tablePane.insertRowTracks(position, definitions);
+        List<Row<T>> inserted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) inserted.add(createCells(new Row<>(items.get(i), tablePane.getRowIndex(position + i)), addedCells));
+        return inserted;
+    }
+
+    private Row<T> createCells(Row<T> row, List<Node> addedCells)
+    {
+        T item = row.item;
+        final int COLUMN_COUNT = tablePane.getColumnList().size();
+        row.cells   = new Node[COLUMN_COUNT];
+        row.columns = new int[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++)
+        {
+            row.columns[i] = tablePane.getColumnIndex(i);
+            Node cell = rowFactory.createCell(item, row.columns[i]);
+            if (cell == null) continue;
+            TablePaneConstraints constraints = rowFactory.createConstraints(item, row.columns[i]);
+            // Interned constraints are shared and can not be moved into the row.
+            if (constraints.isFrozen()) constraints = constraints.atCell(constraints.getColumnIndex(), row.rowIndex);
+            else constraints.setRowIndex(row.rowIndex);
+            TablePane.setConstraints(cell, constraints);
+            row.cells[i] = cell;
+            addedCells.add(cell);
+        }
+        return row;
+    }
+
+    private void updateRow(Row<T> row, T item)
+    {
+        row.item = item;
+        for (int i = 0; i < row.cells.length; i++)
+            if (row.cells[i] != null) rowFactory.updateCell(row.cells[i], item, row.columns[i]);
+    }
+
+    private void removeCells(Row<T> row, Set<Node> removedCells)
+    {
+        for (int i = 0; i < row.cells.length; i++)
+        {
+            if (row.cells[i] == null) continue;
+            removedCells.add(row.cells[i]);
+            rowFactory.releaseCell(row.cells[i], row.columns[i]);
+        }
+    }
+
+    private static int[] identity(int size)
+    {
+        int[] order = new int[size];
+        Arrays.setAll(order, i -> i);
+        return order;
+    }
+
+    /**
+     * A bound row, with its item, its logical index and its cells.
+     *
+     * @param <T> The type of the item.
+     */
+    private static final class Row<T>
+    {
+        private final int    rowIndex;
+        private       T      item;
+        private       Node[] cells;
+        private       int[]  columns;
+
+        private Row(T item, int rowIndex)
+        {
+            this.item     = item;
+            this.rowIndex = rowIndex;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+
+/**
+ * A {@link TablePaneRowFactory} creates and updates the rows of a {@link TablePaneRowBinding}.<br> A row is created once per key and is reused
+ * while an item with the same key is part of the bound list. If the item of a row is replaced by another item with the same key, {@link
+ * #updateCell(Node, Object, int)} is called for each cell of the row.<br> The {@link TablePaneConstraints} of a cell are created by {@link
+ * #createConstraints(Object, int)}, their row index is replaced by the logical index of the row. Frozen, for example {@link
+ * TablePaneConstraints#intern(TablePaneConstraints) interned}, constraints are copied into the row.
+ *
+ * @param <T> The type of the items.
+ * @see TablePaneRowBinding
+ * @see TablePane#bindRows(javafx.collections.ObservableList, java.util.function.Function, TablePaneRowFactory)
+ */
+public interface TablePaneRowFactory<T>
+{
+    /**
+     * Creates a new cell of a row.
+     *
+     * @param item        The item of the row.
+     * @param columnIndex The column index.
+     * @return The cell, null if the row has no cell in this column.
+     */
+    Node createCell(T item, int columnIndex);
+
+    /**
+     * Shows another item with the same key in a cell.
+     *
+     * @param cell        The cell, created by {@link #createCell(Object, int)} for the same column.
+     * @param item        The new item of the row.
+     * @param columnIndex The column index.
+     */
+    void updateCell(Node cell, T item, int columnIndex);
+
+    /**
+     * Creates the {@link TablePaneDefinition} of a new row. A {@link SizeMode#AUTO_SIZE} row is created by default.
+     *
+     * @param item The item of the row.
+     * @return The {@code TablePaneDefinition}.
+     */
+    default TablePaneDefinition createRow(T item)
+    {
+        return new TablePaneRow(SizeMode.AUTO_SIZE, 0);
+    }
+
+    /**
+     * Creates the {@link TablePaneConstraints} of a new cell. The cell fills one column by default.
+     *
+     * @param item        The item of the row.
+     * @param columnIndex The column index.
+     * @return The {@code TablePaneConstraints}.
+     */
+    default TablePaneConstraints createConstraints(T item, int columnIndex)
+    {
+        return new TablePaneConstraints(columnIndex, 0, 1, 1, 0, 0, 0, 0);
+    }
+
+    /**
+     * Is called when a cell has been removed, because its row has been removed. Can be used to release references of the shown item.
+     *
+     * @param cell        The cell.
+     * @param columnIndex The column index.
+     */
+    default void releaseCell(Node cell, int columnIndex)
+    {
+    }
+}
@@ -0,0 +1,65 @@
+package com.frechsack.dev.common.fx.container;
+
+/**
+ * A {@link TablePaneSizeCache} memoizes a computed size of a {@link TablePane} per input dimension, for example the preferred width per height.<br>
+ * Only a few entries are kept, because a parent queries a size with very few different input dimensions during a pulse. If the cache is full, the
+ * oldest entry is replaced.
+ *
+ * @see TablePane
+ */
+final class TablePaneSizeCache
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private static final int CAPACITY = 4;
+
+    private final double[] inputs = new double[CAPACITY];
+    private final double[] values = new double[CAPACITY];
+    private       int      size;
+    private       int      next;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Returns the size that has been computed for an input dimension.
+     *
+     * @param input The input dimension.
+     * @return The size, {@link Double#NaN} if no size is cached for the input dimension.
+     */
+    double get(double input)
+    {
+        for (int i = 0; i < size; i++)
+            if (inputs[i] == input) return values[i];
+        return Double.NaN;
+    }
+
+    /**
+     * Stores the size that has been computed for an input dimension.
+     *
+     * @param input The input dimension.
+     * @param value The size.
+     */
+    void put(double input, double value)
+    {
+        inputs[next] = input;
+        values[next] = value;
+        next         = (next + 1) % CAPACITY;
+        if (size < CAPACITY) size++;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear()
+    {
+        size = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,281 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link TablePaneTemplate} is an immutable layout, that is shared by many {@link TablePane TablePanes} with the same columns, rows and cells. For
+ * example the {@code TablePanes} in the cells of a ListView.<br> A template consists of frozen copies of the columns and rows and of interned cell
+ * constraints it has been created with. The sizes of the columns and rows are solved once per available size and content sizes and are cached in the template,
+ * so identical {@code TablePanes} share one solve. The cache holds up to {@value #CACHE_SIZE} results per axis, the least recently used result is
+ * dropped.<br> A {@code TablePane} only uses the cache, while its columns or rows are the ones of the template. A template must be used on the
+ * JavaFX Application Thread, like the {@code TablePanes} that share it.
+ *
+ * @see TablePane#TablePane(TablePaneTemplate)
+ * @see #createPane(Node...)
+ */
+public final class TablePaneTemplate
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    // The number of solved sizes that are cached per axis.
+    private static final int                        CACHE_SIZE = 256;
+    private final        List<TablePaneDefinition>  columnList;
+    private final        List<TablePaneDefinition>  rowList;
+    private final        List<TablePaneConstraints> cellList;
+    private final        Map<SolveKey, double[]>    columnCache;
+    private final        Map<SolveKey, double[]>    rowCache;
+    private              long                       solveCount;
+    private              long                       cacheHitCount;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code TablePaneTemplate}. The columns, rows and cell constraints are copied, later modifications of the given
+     * instances do not change the template.
+     *
+     * @param columns The columns.
+     * @param rows    The rows.
+     * @param cells   The {@link TablePaneConstraints} of each cell, in the order of the children that are placed by {@link #createPane(Node...)}.
+     */
+    public TablePaneTemplate(List<? extends TablePaneDefinition> columns, List<? extends TablePaneDefinition> rows,
+                             List<? extends TablePaneConstraints> cells)
+    {
+        columnList  = freezeDefinitions(columns);
+        rowList     = freezeDefinitions(rows);
+        cellList    = freezeConstraints(cells);
+        columnCache = createCache();
+        rowCache    = createCache();
+    }
+
+    /**
+     * Creates a new instance of {@code TablePaneTemplate} without cell constraints.
+     *
+     * @param columns The columns.
+     * @param rows    The rows.
+     */
+    public TablePaneTemplate(List<? extends TablePaneDefinition> columns, List<? extends TablePaneDefinition> rows)
+    {
+        this(columns, rows, Collections.emptyList());
+    }
+
+    private static List<TablePaneDefinition> freezeDefinitions(List<? extends TablePaneDefinition> definitions)
+    {
+        List<TablePaneDefinition> frozen = new ArrayList<>(definitions.size());
+        for (TablePaneDefinition definition : definitions)
+        {
+            TablePaneDefinition copy = (TablePaneDefinition) definition.clone();
+            // A shared track can not be resized by the user.
+            copy.setResizable(false);
+            copy.freeze();
+            frozen.add(copy);
+        }
+        return Collections.unmodifiableList(frozen);
+    }
+
+    private static List<TablePaneConstraints> freezeConstraints(List<? extends TablePaneConstraints> constraints)
+    {
+        List<TablePaneConstraints> frozen = new ArrayList<>(constraints.size());
+        // Equal cells of different templates share one instance.
+        for (TablePaneConstraints constraint : constraints) frozen.add(TablePaneConstraints.intern(constraint));
+        return Collections.unmodifiableList(frozen);
+    }
+
+    private static Map<SolveKey, double[]> createCache()
+    {
+        return new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SolveKey, double[]> eldest)
+            {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Creates a {@link TablePane} with the columns and rows of this template and adds the children. Each child is placed with the cell constraints
+     * of the same index.
+     *
+     * @param children The children.
+     * @return The {@code TablePane}.
+     * @throws IllegalArgumentException If there are more children than cell constraints.
+     */
+    public TablePane createPane(Node... children)
+    {
+        if (children.length > cellList.size())
+            throw new IllegalArgumentException("The template defines " + cellList.size() + " cells, " + children.length + " children were passed.");
+        TablePane tablePane = new TablePane(this);
+        for (int i = 0; i < children.length; i++) tablePane.add(children[i], cellList.get(i));
+        return tablePane;
+    }
+
+    /**
+     * Returns the frozen columns of this template.
+     *
+     * @return An unmodifiable list of frozen {@link TablePaneDefinition TablePaneDefinitions}.
+     */
+    public List<TablePaneDefinition> getColumnList()
+    {
+        return columnList;
+    }
+
+    /**
+     * Returns the frozen rows of this template.
+     *
+     * @return An unmodifiable list of frozen {@link TablePaneDefinition TablePaneDefinitions}.
+     */
+    public List<TablePaneDefinition> getRowList()
+    {
+        return rowList;
+    }
+
+    /**
+     * Returns the frozen cell constraints of this template.
+     *
+     * @return An unmodifiable list of frozen {@link TablePaneConstraints}.
+     */
+    public List<TablePaneConstraints> getCellList()
+    {
+        return cellList;
+    }
+
+    /**
+     * Returns how often the sizes of columns or rows have been solved, because they were not cached.
+     *
+     * @return The number of solves.
+     */
+    public long getSolveCount()
+    {
+        return solveCount;
+    }
+
+    /**
+     * Returns how often the sizes of columns or rows have been taken from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getCacheHitCount()
+    {
+        return cacheHitCount;
+    }
+
+    /**
+     * Checks if a list contains exactly the columns of this template.
+     *
+     * @param definitions The columns of a {@code TablePane}.
+     * @return True if the columns are the ones of this template.
+     */
+    boolean isColumnList(List<TablePaneDefinition> definitions)
+    {
+        return isSameList(columnList, definitions);
+    }
+
+    /**
+     * Checks if a list contains exactly the rows of this template.
+     *
+     * @param definitions The rows of a {@code TablePane}.
+     * @return True if the rows are the ones of this template.
+     */
+    boolean isRowList(List<TablePaneDefinition> definitions)
+    {
+        return isSameList(rowList, definitions);
+    }
+
+    private static boolean isSameList(List<TablePaneDefinition> templateList, List<TablePaneDefinition> definitions)
+    {
+        if (templateList.size() != definitions.size()) return false;
+        for (int i = 0; i < templateList.size(); i++)
+            if (templateList.get(i) != definitions.get(i)) return false;
+        return true;
+    }
+
+    /**
+     * Returns the column widths for the given content widths and available width.
+     *
+     * @param contentSizes  The content width of each column.
+     * @param availableSize The available width.
+     * @param reuse         The array to store the widths in, may be null.
+     * @return The column widths.
+     */
+    double[] solveColumns(double[] contentSizes, double availableSize, double[] reuse)
+    {
+        return solve(columnCache, columnList, contentSizes, availableSize, reuse);
+    }
+
+    /**
+     * Returns the row heights for the given content heights and available height.
+     *
+     * @param contentSizes  The content height of each row.
+     * @param availableSize The available height.
+     * @param reuse         The array to store the heights in, may be null.
+     * @return The row heights.
+     */
+    double[] solveRows(double[] contentSizes, double availableSize, double[] reuse)
+    {
+        return solve(rowCache, rowList, contentSizes, availableSize, reuse);
+    }
+
+    private double[] solve(Map<SolveKey, double[]> cache, List<TablePaneDefinition> definitions, double[] contentSizes, double availableSize,
+                           double[] reuse)
+    {
+        SolveKey key   = new SolveKey(contentSizes, availableSize);
+        double[] sizes = cache.get(key);
+        if (sizes == null)
+        {
+            solveCount++;
+            // The key and the cached sizes must not share an array with a TablePane.
+            sizes = TableLayoutSolver.solve(definitions, contentSizes, availableSize, null);
+            cache.put(new SolveKey(contentSizes.clone(), availableSize), sizes);
+        }
+        else cacheHitCount++;
+        if (reuse == null || reuse.length != sizes.length) return sizes.clone();
+        System.arraycopy(sizes, 0, reuse, 0, sizes.length);
+        return reuse;
+    }
+
+    /**
+     * The key of a cached solve: the available size and the content sizes.
+     */
+    private static final class SolveKey
+    {
+        private final double[] contentSizes;
+        private final double   availableSize;
+        private final int      hash;
+
+        private SolveKey(double[] contentSizes, double availableSize)
+        {
+            this.contentSizes  = contentSizes;
+            this.availableSize = availableSize;
+            this.hash          = 31 * Arrays.hashCode(contentSizes) + Double.hashCode(availableSize);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (!(o instanceof SolveKey)) return false;
+            SolveKey key = (SolveKey) o;
+            return hash == key.hash && Double.compare(availableSize, key.availableSize) == 0 && Arrays.equals(contentSizes, key.contentSizes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.frechsack.dev.common.fx.container;
+
+import java.util.Arrays;
+
+/**
+ * A {@link TablePaneTrackIndex} maps the columns or rows of a {@link TablePane} to the children that are placed in them.<br> A child is referenced by
+ * its index in the children list of the {@code TablePane}. Only children with a span of one are indexed, because only they contribute to the size of
+ * a track. The tracks are identified by their logical index.
+ *
+ * @see TablePane
+ */
+final class TablePaneTrackIndex
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    private static final int[] EMPTY = new int[0];
+
+    private int[][] members = new int[0][];
+    private int[]   sizes   = new int[0];
+    // True if a child has been added to a track that is not part of the index.
+    private boolean overflow;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Removes all children and sets the number of tracks.
+     *
+     * @param trackCount The number of tracks.
+     */
+    void reset(int trackCount)
+    {
+        if (members.length != trackCount)
+        {
+            members = new int[trackCount][];
+            sizes   = new int[trackCount];
+            Arrays.fill(members, EMPTY);
+        }
+        else Arrays.fill(sizes, 0);
+        overflow = false;
+    }
+
+    /**
+     * Adds empty tracks at the end. This is only possible, if no child has been added to a track outside of the index - such a child would belong
+     * to one of the new tracks.
+     *
+     * @param trackCount The new number of tracks.
+     * @return True if the tracks have been added, false if the index must be built again.
+     */
+    boolean grow(int trackCount)
+    {
+        if (overflow) return false;
+        int oldCount = members.length;
+        members = Arrays.copyOf(members, trackCount);
+        sizes   = Arrays.copyOf(sizes, trackCount);
+        for (int track = oldCount; track < trackCount; track++) members[track] = EMPTY;
+        return true;
+    }
+
+    /**
+     * Adds a child to a track. Tracks outside of the index are ignored.
+     *
+     * @param track The track.
+     * @param child The index of the child.
+     */
+    void add(int track, int child)
+    {
+        if (track >= members.length) overflow = true;
+        if (track < 0 || track >= members.length) return;
+        int[] trackMembers = members[track];
+        if (sizes[track] == trackMembers.length) members[track] = trackMembers = Arrays.copyOf(trackMembers, Math.max(4, trackMembers.length * 2));
+        trackMembers[sizes[track]++] = child;
+    }
+
+    /**
+     * Removes a child from a track. Tracks outside of the index are ignored.
+     *
+     * @param track The track.
+     * @param child The index of the child.
+     */
+    void remove(int track, int child)
+    {
+        if (track < 0 || track >= members.length) return;
+        int[] trackMembers = members[track];
+        // Search from the end, the latest added child is removed most often.
+        for (int i = sizes[track] - 1; i >= 0; i--)
+            if (trackMembers[i] == child)
+            {
+                // The order of a track is not relevant - the last child takes the free place.
+                trackMembers[i] = trackMembers[--sizes[track]];
+                return;
+            }
+    }
+
+    /**
+     * Returns the number of children in a track.
+     *
+     * @param track The track.
+     * @return The number of children.
+     */
+    int size(int track)
+    {
+        return sizes[track];
+    }
+
+    /**
+     * Returns the children of a track. Only the first {@link #size(int)} entries are valid.
+     *
+     * @param track The track.
+     * @return The indices of the children.
+     */
+    int[] get(int track)
+    {
+        return members[track];
+    }
+}
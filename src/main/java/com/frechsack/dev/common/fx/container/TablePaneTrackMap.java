@@ -0,0 +1,370 @@
+package com.frechsack.dev.common.fx.container;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A {@link TablePaneTrackMap} maps the logical indices of the columns or rows of a {@link TablePane} to their positions.<br> The column and row
+ * indices of the {@link TablePaneConstraints} are logical indices. A column or row keeps its logical index while other columns or rows are
+ * inserted, removed or moved in front of it, so no {@code TablePaneConstraints} has to be modified. Each operation costs O(tracks).<br> A column
+ * or row that is appended at the end gets its position as logical index, unless another column or row uses it. As long as columns and rows are only
+ * appended or removed at the end, the logical index of each column or row is its position.<br> The logical index of a removed column or row is
+ * released, children that still refer to it are placed outside of the grid. It can be reused by an inserted column or row, once the {@code
+ * TablePane} has {@link #recycle(BitSet) recycled} it, because no child refers to it any more. So the number of logical indices is bounded by the
+ * number of columns or rows and the children that refer to removed ones, not by the history of modifications.
+ *
+ * @see TablePane
+ */
+final class TablePaneTrackMap
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    // The position of each logical index, -1 if the track has been removed.
+    private       int[]  positions    = new int[0];
+    // The logical index of each position.
+    private       int[]  tracks       = new int[0];
+    private       int    size;
+    private       int    logicalCount;
+    // The number of logical indices that have been released since the last call of recycle.
+    private       int    releasedCount;
+    // Logical indices of removed tracks, that may still be referred to by children.
+    private final BitSet released     = new BitSet();
+    // Logical indices of removed tracks, that can be reused.
+    private final BitSet free         = new BitSet();
+    // The first position whose logical index has changed since the last call of takeFirstChanged.
+    private       int    firstChanged = Integer.MAX_VALUE;
+    private       int    version;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Adapts this map to the number of tracks. Positions that are added at the end get their position as logical index, if it is not used by
+     * another track. Positions that are dropped at the end release their logical index. The mapping of the other positions is kept.
+     *
+     * @param trackCount The number of tracks.
+     */
+    void synchronize(int trackCount)
+    {
+        if (trackCount == size) return;
+        if (trackCount > size)
+        {
+            ensureCapacity(trackCount, Math.max(logicalCount, trackCount) + trackCount - size);
+            for (int position = size; position < trackCount; position++) assign(position, take(position));
+        }
+        else for (int position = trackCount; position < size; position++) release(tracks[position]);
+        changed(Math.min(size, trackCount));
+        size = trackCount;
+    }
+
+    /**
+     * Inserts a new track. It reuses a recycled logical index, if there is one.
+     *
+     * @param position The position of the new track.
+     * @return The logical index of the new track.
+     */
+    int insert(int position)
+    {
+        insert(position, 1);
+        return tracks[position];
+    }
+
+    /**
+     * Inserts several new tracks, the tracks behind them are shifted once. Each new track reuses a recycled logical index, if there is one.
+     *
+     * @param position The position of the first new track.
+     * @param count    The number of new tracks.
+     */
+    void insert(int position, int count)
+    {
+        ensureCapacity(size + count, logicalCount + count);
+        System.arraycopy(tracks, position, tracks, position + count, size - position);
+        size += count;
+        for (int i = 0; i < count; i++) assign(position + i, take(-1));
+        updatePositions(position + count, size);
+        changed(position);
+    }
+
+    /**
+     * Removes a track.
+     *
+     * @param position The position of the track.
+     * @return The logical index of the removed track.
+     */
+    int remove(int position)
+    {
+        int track = tracks[position];
+        release(track);
+        System.arraycopy(tracks, position + 1, tracks, position, size - position - 1);
+        size--;
+        updatePositions(position, size);
+        changed(position);
+        return track;
+    }
+
+    /**
+     * Removes several tracks. The remaining tracks are shifted once.
+     *
+     * @param removed The positions of the removed tracks.
+     */
+    void remove(BitSet removed)
+    {
+        int first = removed.nextSetBit(0);
+        if (first < 0) return;
+        int target = first;
+        for (int position = first; position < size; position++)
+        {
+            if (removed.get(position)) release(tracks[position]);
+            else tracks[target++] = tracks[position];
+        }
+        size = target;
+        updatePositions(first, size);
+        changed(first);
+    }
+
+    /**
+     * Moves a track to another position. The tracks between both positions are shifted by one.
+     *
+     * @param from The current position of the track.
+     * @param to   The new position of the track.
+     */
+    void move(int from, int to)
+    {
+        if (from == to) return;
+        int track = tracks[from];
+        if (from < to) System.arraycopy(tracks, from + 1, tracks, from, to - from);
+        else System.arraycopy(tracks, to, tracks, to + 1, from - to);
+        tracks[to] = track;
+        updatePositions(Math.min(from, to), Math.max(from, to) + 1);
+        changed(Math.min(from, to));
+    }
+
+    /**
+     * Reorders all tracks.
+     *
+     * @param order The current position of each track, in the new order.
+     * @throws IllegalArgumentException If the order is not a permutation of all positions.
+     */
+    void permute(int[] order)
+    {
+        if (order.length != size) throw new IllegalArgumentException("The order must contain " + size + " positions.");
+        boolean[] seen = new boolean[size];
+        for (int position : order)
+        {
+            if (position < 0 || position >= size || seen[position]) throw new IllegalArgumentException("The order is not a permutation.");
+            seen[position] = true;
+        }
+        int[] reordered = new int[tracks.length];
+        int   first     = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            reordered[i] = tracks[order[i]];
+            if (order[i] != i && first == Integer.MAX_VALUE) first = i;
+        }
+        if (first == Integer.MAX_VALUE) return;
+        tracks = reordered;
+        updatePositions(first, size);
+        changed(first);
+    }
+
+    /**
+     * Returns the position of a logical index. A negative index is returned unchanged, an index without a track is mapped behind the last position.
+     *
+     * @param track The logical index.
+     * @return The position.
+     */
+    int toPosition(int track)
+    {
+        if (track < 0) return track;
+        if (track >= logicalCount || positions[track] == -1) return size;
+        return positions[track];
+    }
+
+    /**
+     * Checks if a logical index belongs to a track.
+     *
+     * @param track The logical index.
+     * @return True if a track has the logical index, false if it is unused or has been released.
+     */
+    boolean isUsed(int track)
+    {
+        return track >= 0 && track < logicalCount && positions[track] != -1;
+    }
+
+    /**
+     * Checks if there are released logical indices, that may be recycled.
+     *
+     * @return True if a logical index has been released since the last call of {@link #recycle(BitSet)}.
+     */
+    boolean hasReleased()
+    {
+        return !released.isEmpty();
+    }
+
+    /**
+     * Checks if more logical indices have been released since the last call of {@link #recycle(BitSet)}, than there are tracks. The released
+     * indices should be recycled then, so the number of logical indices stays proportional to the number of tracks.
+     *
+     * @return True if the released logical indices outnumber the tracks.
+     */
+    boolean shouldRecycle()
+    {
+        return releasedCount > size;
+    }
+
+    /**
+     * Checks if a logical index has been released and may still be referred to.
+     *
+     * @param track The logical index.
+     * @return True if the logical index is released.
+     */
+    boolean isReleased(int track)
+    {
+        return track >= 0 && released.get(track);
+    }
+
+    /**
+     * Makes the released logical indices reusable, that are no longer referred to. Unused logical indices at the end are dropped, so the number of
+     * logical indices shrinks.
+     *
+     * @param referenced The released logical indices that are still referred to by a child.
+     */
+    void recycle(BitSet referenced)
+    {
+        releasedCount = 0;
+        for (int track = released.nextSetBit(0); track >= 0; track = released.nextSetBit(track + 1))
+        {
+            if (referenced.get(track)) continue;
+            released.clear(track);
+            free.set(track);
+        }
+        while (logicalCount > 0 && free.get(logicalCount - 1)) free.clear(--logicalCount);
+    }
+
+    /**
+     * Returns the logical index of a position.
+     *
+     * @param position The position.
+     * @return The logical index.
+     */
+    int toTrack(int position)
+    {
+        return tracks[position];
+    }
+
+    /**
+     * Copies values that are stored per logical index into an array that is ordered by position.
+     *
+     * @param values The values per logical index.
+     * @param target The array to reuse, may be null.
+     * @return The values per position.
+     */
+    double[] order(double[] values, double[] target)
+    {
+        if (target == null || target.length != size) target = new double[size];
+        for (int i = 0; i < size; i++) target[i] = values[tracks[i]];
+        return target;
+    }
+
+    /**
+     * Returns the number of logical indices that have been assigned, including the ones of removed tracks.
+     *
+     * @return The number of logical indices.
+     */
+    int getLogicalCount()
+    {
+        return logicalCount;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns a stamp that changes with every modification of this map.
+     *
+     * @return The modification stamp.
+     */
+    int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Returns the first position whose logical index has changed since the last call and resets it.
+     *
+     * @return The position, {@link Integer#MAX_VALUE} if nothing has changed.
+     */
+    int takeFirstChanged()
+    {
+        int position = firstChanged;
+        firstChanged = Integer.MAX_VALUE;
+        return position;
+    }
+
+    /**
+     * Takes a logical index for a new track. The preferred index is used if no track uses it, otherwise a free index is reused or a new index is
+     * added.
+     *
+     * @param preferred The preferred logical index, -1 if there is none.
+     * @return The logical index.
+     */
+    private int take(int preferred)
+    {
+        if (preferred >= logicalCount)
+        {
+            // The skipped logical indices have never been used, but children may refer to them.
+            released.set(logicalCount, preferred);
+            Arrays.fill(positions, logicalCount, preferred, -1);
+            logicalCount = preferred + 1;
+            return preferred;
+        }
+        if (preferred >= 0 && positions[preferred] == -1)
+        {
+            released.clear(preferred);
+            free.clear(preferred);
+            return preferred;
+        }
+        int track = free.nextSetBit(0);
+        if (track < 0) return logicalCount++;
+        free.clear(track);
+        return track;
+    }
+
+    private void release(int track)
+    {
+        positions[track] = -1;
+        released.set(track);
+        releasedCount++;
+    }
+
+    private void assign(int position, int track)
+    {
+        tracks[position] = track;
+        positions[track] = position;
+    }
+
+    private void updatePositions(int from, int to)
+    {
+        for (int position = from; position < to; position++) positions[tracks[position]] = position;
+    }
+
+    private void changed(int position)
+    {
+        if (position < firstChanged) firstChanged = position;
+        version++;
+    }
+
+    private void ensureCapacity(int trackCount, int logicalTrackCount)
+    {
+        if (tracks.length < trackCount) tracks = Arrays.copyOf(tracks, Math.max(trackCount, tracks.length * 2));
+        if (positions.length < logicalTrackCount) positions = Arrays.copyOf(positions, Math.max(logicalTrackCount, positions.length * 2));
+    }
+}
@@ -0,0 +1,495 @@
+package com.frechsack.dev.common.fx.container;
+
+import com.frechsack.dev.common.fx.geometry.WriteableRectangle2D;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link VirtualTablePane} shows a grid of columns and rows like a {@link TablePane}, but only creates Nodes for the cells that are visible.<br>
+ * The rows are defined by a row count and one {@link TablePaneDefinition} that is shared by all rows, the columns are defined like the columns of a
+ * {@code TablePane}. The cells are created and updated by a {@link VirtualTablePaneCellFactory}. A cell that is scrolled out of the viewport is kept
+ * and reused for another row of the same column, so the number of cells only depends on the size of the viewport and not on the row count.<br> Only
+ * the rows are virtualized: each visible row has a cell in every column, so the number of cells is the number of visible rows times the number of
+ * columns. The columns are not scrolled, they share the width of the viewport like the columns of a {@code TablePane}.<br> The
+ * {@link SizeMode} of the columns and the row definition is applied like in a {@code TablePane}. The content size of an {@link SizeMode#AUTO_SIZE}
+ * column or row is the largest preferred size of all cells that have been shown so far, it only grows while the {@code VirtualTablePane} is
+ * scrolled. The {@link FillMode}, anchor and insets of a cell are taken from its {@link TablePaneConstraints}.<br> Like a {@code TablePane}, the
+ * layout is not updated automatically if a {@code TablePaneDefinition} is modified. If the shown data changes, {@link #refresh()} should be called.
+ *
+ * @see VirtualTablePaneCellFactory
+ * @see TablePane
+ * @see TablePaneDefinition
+ */
+public class VirtualTablePane extends Region
+{
+    /* *****************************************************************************
+     *                                                                             *
+     * Attributes
+     *                                                                             *
+     ******************************************************************************/
+    // The number of rows the preferred height is calculated for.
+    private static final int                                         PREF_ROW_COUNT = 10;
+    private final        IntegerProperty                             rowCount       = new SimpleIntegerProperty(this, "rowCount", 0);
+    private final        DoubleProperty                              scrollPosition = new SimpleDoubleProperty(this, "scrollPosition", 0);
+    private final        ObjectProperty<VirtualTablePaneCellFactory> cellFactory    = new SimpleObjectProperty<>(this, "cellFactory");
+    private final        List<TablePaneDefinition>                   columnList     = new ArrayList<>();
+    private              TablePaneDefinition                         rowDefinition  = new TablePaneRow(SizeMode.AUTO_SIZE, 0);
+    private final        Group                                       cellGroup      = new Group();
+    private final        Rectangle                                   cellClip       = new Rectangle();
+    private final        ScrollBar                                   scrollBar      = new ScrollBar();
+    private final        WriteableRectangle2D                        nodeArea       = new WriteableRectangle2D(0, 0, 0, 0);
+    private final        WriteableRectangle2D                        nodeBounds     = new WriteableRectangle2D(0, 0, 0, 0);
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Layout state
+     *                                                                             *
+     ******************************************************************************/
+    // The cells that are not visible, per column.
+    private final List<ArrayDeque<Node>> freeCells           = new ArrayList<>();
+    // The visible cells, row by row. The cell of a row and column is at index (row - cellsFirstRow) * columnCount + column.
+    private       Node[]                 cells               = new Node[0];
+    private       double[]               cellPrefWidths      = new double[0];
+    private       double[]               cellPrefHeights     = new double[0];
+    private       int                    cellsFirstRow;
+    private       int                    cellsRowCount;
+    private       int                    columnCount;
+    private       int                    cellCount;
+    private       boolean                refreshRequested;
+    private       double[]               columnContentWidths = new double[0];
+    private       double                 rowContentHeight;
+    private       double[]               columnWidths;
+    private       double[]               columnOffsets;
+    private       double                 rowHeight;
+
+    /* *****************************************************************************
+     *                                                                             *
+     * Methods
+     *                                                                             *
+     ******************************************************************************/
+
+    /**
+     * Creates a new instance of {@code VirtualTablePane} without rows, columns and cell factory.
+     */
+    public VirtualTablePane()
+    {
+        cellGroup.setAutoSizeChildren(false);
+        cellGroup.setClip(cellClip);
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.valueProperty().bindBidirectional(scrollPosition);
+        getChildren().addAll(cellGroup, scrollBar);
+
+        rowCount.addListener(observable -> requestLayout());
+        scrollPosition.addListener(observable -> requestLayout());
+        cellFactory.addListener((observable, oldFactory, newFactory) ->
+                                {
+                                    // The cells of the old factory are released by it.
+                                    discardCells(oldFactory);
+                                    requestLayout();
+                                });
+        addEventHandler(ScrollEvent.SCROLL, event ->
+        {
+            setScrollPosition(getScrollPosition() - event.getDeltaY());
+            event.consume();
+        });
+    }
+
+    /**
+     * Creates a new instance of {@code VirtualTablePane}.
+     *
+     * @param rowCount    The number of rows.
+     * @param cellFactory The {@link VirtualTablePaneCellFactory}.
+     * @param columns     The columns.
+     */
+    public VirtualTablePane(int rowCount, VirtualTablePaneCellFactory cellFactory, TablePaneDefinition... columns)
+    {
+        this();
+        columnList.addAll(Arrays.asList(columns));
+        setRowCount(rowCount);
+        setCellFactory(cellFactory);
+    }
+
+    /**
+     * Adds a {@link TablePaneDefinition} as a column to this {@link VirtualTablePane}.
+     *
+     * @param definition The {@code TablePaneDefinition}
+     * @return An instance of this {@code VirtualTablePane}.
+     */
+    public VirtualTablePane addColumn(TablePaneDefinition definition)
+    {
+        columnList.add(definition);
+        return this;
+    }
+
+    /**
+     * Returns a list with instances of {@link TablePaneDefinition} who act as a column. If the number of columns changes, all cells are created
+     * again.
+     *
+     * @return A list with instances of {@link TablePaneDefinition}.
+     */
+    public List<TablePaneDefinition> getColumnList()
+    {
+        return columnList;
+    }
+
+    /**
+     * Returns the {@link TablePaneDefinition} that is shared by all rows.
+     *
+     * @return The {@code TablePaneDefinition}.
+     */
+    public TablePaneDefinition getRowDefinition()
+    {
+        return rowDefinition;
+    }
+
+    /**
+     * Sets the {@link TablePaneDefinition} that is shared by all rows. A {@link SizeMode#RELATIVE} row takes its relative amount of the viewport
+     * height.
+     *
+     * @param rowDefinition The {@code TablePaneDefinition}.
+     */
+    public void setRowDefinition(TablePaneDefinition rowDefinition)
+    {
+        this.rowDefinition = Objects.requireNonNull(rowDefinition);
+        requestLayout();
+    }
+
+    public int getRowCount()
+    {
+        return rowCount.get();
+    }
+
+    public IntegerProperty rowCountProperty()
+    {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount)
+    {
+        if (rowCount < 0) throw new IllegalArgumentException("The row count must not be negative.");
+        this.rowCount.set(rowCount);
+    }
+
+    public VirtualTablePaneCellFactory getCellFactory()
+    {
+        return cellFactory.get();
+    }
+
+    public ObjectProperty<VirtualTablePaneCellFactory> cellFactoryProperty()
+    {
+        return cellFactory;
+    }
+
+    public void setCellFactory(VirtualTablePaneCellFactory cellFactory)
+    {
+        this.cellFactory.set(cellFactory);
+    }
+
+    /**
+     * Returns the vertical scroll position in pixels, the distance between the top of the first row and the top of the viewport.
+     *
+     * @return The scroll position.
+     */
+    public double getScrollPosition()
+    {
+        return scrollPosition.get();
+    }
+
+    public DoubleProperty scrollPositionProperty()
+    {
+        return scrollPosition;
+    }
+
+    public void setScrollPosition(double scrollPosition)
+    {
+        this.scrollPosition.set(scrollPosition);
+    }
+
+    /**
+     * Scrolls to a row, so that the row is shown at the top of the viewport. The height of the rows of the last layout pass is used.
+     *
+     * @param rowIndex The row index.
+     */
+    public void scrollTo(int rowIndex)
+    {
+        setScrollPosition(Math.max(0, rowIndex) * rowHeight);
+    }
+
+    /**
+     * Updates all visible cells again. Should be called if the shown data has changed.
+     */
+    public void refresh()
+    {
+        refreshRequested = true;
+        requestLayout();
+    }
+
+    /**
+     * Returns the number of cells that have been created by the {@link VirtualTablePaneCellFactory}. The number only depends on the number of rows that
+     * have been visible at the same time.
+     *
+     * @return The number of cells.
+     */
+    public int getCellCount()
+    {
+        return cellCount;
+    }
+
+    /* ******************************************************************************
+     *                                                                             *
+     * Layout Calculation
+     *                                                                             *
+     ******************************************************************************/
+
+    @Override
+    protected void layoutChildren()
+    {
+        synchronizeColumns();
+        Insets insets         = getInsets();
+        double viewportHeight = Math.max(0, getHeight() - insets.getTop() - insets.getBottom());
+        int    rowCount       = getRowCount();
+
+        // A new cell can increase the row height, the visible rows are calculated again until the row height is stable.
+        double position = 0;
+        double maxPosition;
+        int    firstRow;
+        int    lastRow;
+        for (int pass = 0; pass < 3; pass++)
+        {
+            rowHeight   = calculateRowHeight(viewportHeight);
+            maxPosition = Math.max(0, rowCount * rowHeight - viewportHeight);
+            position    = Math.min(Math.max(getScrollPosition(), 0), maxPosition);
+            if (rowHeight > 0)
+            {
+                firstRow = Math.min(rowCount, (int) (position / rowHeight));
+                lastRow  = Math.min(rowCount, (int) Math.ceil((position + viewportHeight) / rowHeight));
+            }
+            else
+            {
+                // Without a row height, one row is shown to measure its cells.
+                firstRow = 0;
+                lastRow  = Math.min(rowCount, 1);
+            }
+            updateCells(firstRow, lastRow);
+            if (calculateRowHeight(viewportHeight) == rowHeight) break;
+        }
+        refreshRequested = false;
+
+        // Scroll bar
+        double  contentHeight    = rowCount * rowHeight;
+        boolean scrollBarVisible = contentHeight > viewportHeight;
+        double  scrollBarWidth   = scrollBarVisible ? snapSizeX(scrollBar.prefWidth(-1)) : 0;
+        scrollBar.setVisible(scrollBarVisible);
+        scrollBar.setMax(Math.max(0, contentHeight - viewportHeight));
+        scrollBar.setVisibleAmount(viewportHeight);
+        scrollBar.setUnitIncrement(rowHeight);
+        scrollBar.setBlockIncrement(viewportHeight);
+        scrollBar.resizeRelocate(getWidth() - insets.getRight() - scrollBarWidth, insets.getTop(), scrollBarWidth, viewportHeight);
+        if (position != getScrollPosition()) setScrollPosition(position);
+
+        // Columns
+        double viewportWidth = Math.max(0, getWidth() - insets.getLeft() - insets.getRight() - scrollBarWidth);
+        columnWidths  = TableLayoutSolver.solve(columnList, columnContentWidths, viewportWidth, columnWidths);
+        columnOffsets = TableLayoutSolver.calculateOffsets(columnWidths, insets.getLeft(), columnOffsets);
+        for (int i = 0; i < columnOffsets.length; i++) columnOffsets[i] = snapPositionX(columnOffsets[i]);
+        cellClip.setX(insets.getLeft());
+        cellClip.setY(insets.getTop());
+        cellClip.setWidth(viewportWidth);
+        cellClip.setHeight(viewportHeight);
+
+        // Cells
+        for (int row = 0; row < cellsRowCount; row++)
+        {
+            double rowY      = snapPositionY(insets.getTop() + (cellsFirstRow + row) * rowHeight - position);
+            double rowBottom = snapPositionY(insets.getTop() + (cellsFirstRow + row + 1) * rowHeight - position);
+            for (int column = 0; column < columnCount; column++) layoutCell(row * columnCount + column, column, rowY, rowBottom - rowY);
+        }
+    }
+
+    private void layoutCell(int index, int column, double rowY, double rowHeight)
+    {
+        Node                 cell        = cells[index];
+        TablePaneConstraints constraints = TablePane.getConstraints(cell);
+        double               x           = columnOffsets[column] + constraints.getInsetLeft();
+        double               y           = rowY + constraints.getInsetTop();
+        double               w           = columnOffsets[column + 1] - columnOffsets[column] - constraints.getInsetLeft() - constraints.getInsetRight();
+        double               h           = rowHeight - constraints.getInsetTop() - constraints.getInsetBottom();
+        nodeArea.setBounds(x, y, Math.max(w, 0), Math.max(h, 0));
+        FillMode fillMode = constraints.getFillMode() == null ? FillMode.BOTH : constraints.getFillMode();
+        Pos      anchor   = constraints.getAnchor() == null ? Pos.CENTER : constraints.getAnchor();
+        TablePane.calculateNodeBounds(nodeArea, cellPrefWidths[index], cellPrefHeights[index], fillMode, anchor.getHpos(), anchor.getVpos(),
+                                      nodeBounds);
+        cell.resizeRelocate(nodeBounds.getMinX(), nodeBounds.getMinY(), nodeBounds.getWidth(), nodeBounds.getHeight());
+    }
+
+    /**
+     * Calculates the height of all rows from the row definition.
+     *
+     * @param viewportHeight The height of the viewport.
+     * @return The row height.
+     */
+    private double calculateRowHeight(double viewportHeight)
+    {
+        double height;
+        if (rowDefinition.isAbsolute()) height = rowDefinition.getSize();
+        else if (rowDefinition.isRelative()) height = viewportHeight * rowDefinition.getSize();
+        else
+        {
+            height = rowContentHeight + rowDefinition.getSize();
+            if (rowDefinition.isMaxSizeSet() && rowDefinition.getMaxSize() < height) height = rowDefinition.getMaxSize();
+        }
+        if (rowDefinition.isMinSizeSet() && rowDefinition.getMinSize() > height) height = rowDefinition.getMinSize();
+        return Math.max(0, height);
+    }
+
+    /**
+     * Discards all cells if the number of columns has changed.
+     */
+    private void synchronizeColumns()
+    {
+        if (columnCount == columnList.size()) return;
+        discardCells(getCellFactory());
+        columnCount         = columnList.size();
+        columnContentWidths = new double[columnCount];
+        freeCells.clear();
+        for (int i = 0; i < columnCount; i++) freeCells.add(new ArrayDeque<>());
+    }
+
+    /**
+     * Removes all cells, they are created again by the next layout pass. The visible cells are released first, the cells that are kept for reuse
+     * have been released already.
+     *
+     * @param factory The {@link VirtualTablePaneCellFactory} that created the cells, may be null.
+     */
+    private void discardCells(VirtualTablePaneCellFactory factory)
+    {
+        if (factory != null)
+            for (int i = 0; i < cellsRowCount * columnCount; i++)
+                if (cells[i] != null) factory.releaseCell(cells[i], i % columnCount);
+        cellGroup.getChildren().clear();
+        for (ArrayDeque<Node> free : freeCells) free.clear();
+        Arrays.fill(cells, null);
+        cellsRowCount       = 0;
+        cellCount           = 0;
+        rowContentHeight    = 0;
+        Arrays.fill(columnContentWidths, 0);
+    }
+
+    /**
+     * Shows the cells of a range of rows. Cells of rows outside of the range are released, cells of rows that are already shown are kept and only the
+     * new rows are updated.
+     *
+     * @param firstRow The first row.
+     * @param lastRow  The end of the range, exclusive.
+     */
+    private void updateCells(int firstRow, int lastRow)
+    {
+        VirtualTablePaneCellFactory factory = getCellFactory();
+        if (factory == null) lastRow = firstRow;
+        final int ROW_COUNT = lastRow - firstRow;
+        if (!refreshRequested && firstRow == cellsFirstRow && ROW_COUNT == cellsRowCount) return;
+
+        Node[]   newCells       = new Node[ROW_COUNT * columnCount];
+        double[] newPrefWidths  = new double[newCells.length];
+        double[] newPrefHeights = new double[newCells.length];
+        // Keep the cells of rows that stay visible, release the others.
+        for (int row = cellsFirstRow; row < cellsFirstRow + cellsRowCount; row++)
+        {
+            int oldIndex = (row - cellsFirstRow) * columnCount;
+            if (row >= firstRow && row < lastRow)
+            {
+                int newIndex = (row - firstRow) * columnCount;
+                System.arraycopy(cells, oldIndex, newCells, newIndex, columnCount);
+                System.arraycopy(cellPrefWidths, oldIndex, newPrefWidths, newIndex, columnCount);
+                System.arraycopy(cellPrefHeights, oldIndex, newPrefHeights, newIndex, columnCount);
+            }
+            else for (int column = 0; column < columnCount; column++) releaseCell(factory, cells[oldIndex + column], column);
+        }
+        // Show the new rows.
+        for (int row = firstRow; row < lastRow; row++)
+        {
+            boolean kept = row >= cellsFirstRow && row < cellsFirstRow + cellsRowCount;
+            if (kept && !refreshRequested) continue;
+            for (int column = 0; column < columnCount; column++)
+            {
+                int  index = (row - firstRow) * columnCount + column;
+                Node cell  = newCells[index];
+                if (cell == null) newCells[index] = cell = obtainCell(factory, column);
+                factory.updateCell(cell, row, column);
+                measureCell(cell, index, column, newPrefWidths, newPrefHeights);
+            }
+        }
+        cells           = newCells;
+        cellPrefWidths  = newPrefWidths;
+        cellPrefHeights = newPrefHeights;
+        cellsFirstRow   = firstRow;
+        cellsRowCount   = ROW_COUNT;
+    }
+
+    private Node obtainCell(VirtualTablePaneCellFactory factory, int column)
+    {
+        Node cell = freeCells.get(column).poll();
+        if (cell == null)
+        {
+            cell = Objects.requireNonNull(factory.createCell(column), "The cell factory must create a cell.");
+            cellGroup.getChildren().add(cell);
+            cellCount++;
+        }
+        else cell.setVisible(true);
+        return cell;
+    }
+
+    private void releaseCell(VirtualTablePaneCellFactory factory, Node cell, int column)
+    {
+        if (cell == null) return;
+        if (factory != null) factory.releaseCell(cell, column);
+        cell.setVisible(false);
+        freeCells.get(column).push(cell);
+    }
+
+    private void measureCell(Node cell, int index, int column, double[] prefWidths, double[] prefHeights)
+    {
+        // A new cell has no skin before the css is applied.
+        if (cell.getScene() != null) cell.applyCss();
+        TablePaneConstraints constraints = TablePane.getConstraints(cell);
+        prefWidths[index]  = TablePane.getPrefWidth(cell);
+        prefHeights[index] = TablePane.getPrefHeight(cell);
+        double contentWidth  = prefWidths[index] + constraints.getInsetLeft() + constraints.getInsetRight();
+        double contentHeight = prefHeights[index] + constraints.getInsetTop() + constraints.getInsetBottom();
+        if (columnContentWidths[column] < contentWidth) columnContentWidths[column] = contentWidth;
+        if (rowContentHeight < contentHeight) rowContentHeight = contentHeight;
+    }
+
+    @Override
+    protected double computePrefWidth(double height)
+    {
+        synchronizeColumns();
+        return getInsets().getLeft() + getInsets().getRight() + TableLayoutSolver.computePrefSize(columnList, columnContentWidths) +
+               scrollBar.prefWidth(-1);
+    }
+
+    @Override
+    protected double computePrefHeight(double width)
+    {
+        return getInsets().getTop() + getInsets().getBottom() + calculateRowHeight(0) * Math.min(getRowCount(), PREF_ROW_COUNT);
+    }
+}
@@ -0,0 +1,42 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+
+/**
+ * A {@link VirtualTablePaneCellFactory} creates and updates the cells of a {@link VirtualTablePane}.<br> A cell is created once per column and is
+ * reused for other rows while the {@code VirtualTablePane} is scrolled. Each time a cell shows another row, {@link #updateCell(Node, int, int)} is
+ * called.<br> The {@link FillMode}, anchor and insets of a cell are taken from its {@link TablePaneConstraints}, which can be set with {@link
+ * TablePane#setConstraints(Node, TablePaneConstraints)}. The column and row index as well as the spans of these constraints are ignored.
+ *
+ * @see VirtualTablePane
+ */
+public interface VirtualTablePaneCellFactory
+{
+    /**
+     * Creates a new cell for a column.
+     *
+     * @param columnIndex The column index.
+     * @return The cell.
+     */
+    Node createCell(int columnIndex);
+
+    /**
+     * Shows a row in a cell.
+     *
+     * @param cell        The cell, created by {@link #createCell(int)} for the same column.
+     * @param rowIndex    The row index.
+     * @param columnIndex The column index.
+     */
+    void updateCell(Node cell, int rowIndex, int columnIndex);
+
+    /**
+     * Is called when a cell is no longer visible and is kept for reuse, or when a visible cell is discarded because the columns or the cell factory
+     * have been replaced. Can be used to release references and bindings of the shown row.
+     *
+     * @param cell        The cell.
+     * @param columnIndex The column index.
+     */
+    default void releaseCell(Node cell, int columnIndex)
+    {
+    }
+}
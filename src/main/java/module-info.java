@@ -2,6 +2,7 @@ module frechsack.common.fx
 {
     requires transitive javafx.graphics;
     requires transitive javafx.controls;
+    requires jdk.jfr;
     exports com.frechsack.dev.common.fx.container;
     exports com.frechsack.dev.common.fx.geometry;
     exports com.frechsack.dev.common.fx.stain;
@@ -0,0 +1,84 @@
+package com.frechsack.dev.common.fx.container;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TableLayoutSolverTest
+{
+    private static final double DELTA = 1e-9;
+
+    private static TablePaneRow row(SizeMode sizeMode, double size, double minSize, double maxSize)
+    {
+        TablePaneRow row = new TablePaneRow(sizeMode, size);
+        row.setMinSize(minSize);
+        row.setMaxSize(maxSize);
+        return row;
+    }
+
+    @Test
+    public void absoluteAutoSizeAndRelativeTracks()
+    {
+        List<TablePaneRow> rows = List.of(new TablePaneRow(SizeMode.ABSOLUTE, 50), new TablePaneRow(SizeMode.AUTO_SIZE, 10),
+                                          new TablePaneRow(SizeMode.RELATIVE, 0.25), new TablePaneRow(SizeMode.RELATIVE, 0.75));
+        double[] sizes = TableLayoutSolver.solve(rows, new double[]{0, 30, 0, 0}, 500, null);
+        assertArrayEquals(new double[]{50, 40, 102.5, 307.5}, sizes, DELTA);
+    }
+
+    @Test
+    public void tracksAreLimitedByTheAvailableSpace()
+    {
+        List<TablePaneRow> rows = List.of(new TablePaneRow(SizeMode.ABSOLUTE, 80), new TablePaneRow(SizeMode.AUTO_SIZE, 0),
+                                          new TablePaneRow(SizeMode.RELATIVE, 1));
+        assertArrayEquals(new double[]{80, 20, 0}, TableLayoutSolver.solve(rows, new double[]{0, 50, 0}, 100, null), DELTA);
+    }
+
+    @Test
+    public void minimumSizeIsAlwaysApplied()
+    {
+        List<TablePaneRow> rows = List.of(row(SizeMode.ABSOLUTE, 100, 40, -1), row(SizeMode.RELATIVE, 1, 10, -1));
+        assertArrayEquals(new double[]{50, 10}, TableLayoutSolver.solve(rows, new double[2], 50, null), DELTA);
+    }
+
+    @Test
+    public void maximumSizeLimitsAutoSizeAndRelativeTracks()
+    {
+        List<TablePaneRow> rows = List.of(row(SizeMode.AUTO_SIZE, 0, -1, 20), row(SizeMode.RELATIVE, 1, -1, 30));
+        assertArrayEquals(new double[]{20, 30}, TableLayoutSolver.solve(rows, new double[]{100, 0}, 200, null), DELTA);
+    }
+
+    @Test
+    public void resultArrayIsReused()
+    {
+        List<TablePaneRow> rows  = List.of(new TablePaneRow(SizeMode.ABSOLUTE, 10), new TablePaneRow(SizeMode.RELATIVE, 1));
+        double[]           sizes = {1, 2};
+        assertEquals(sizes, TableLayoutSolver.solve(rows, new double[2], 100, sizes));
+        assertArrayEquals(new double[]{10, 90}, sizes, DELTA);
+    }
+
+    @Test
+    public void redistributeMatchesSolve()
+    {
+        List<TablePaneRow> rows = List.of(new TablePaneRow(SizeMode.ABSOLUTE, 50), new TablePaneRow(SizeMode.AUTO_SIZE, 5),
+                                          new TablePaneRow(SizeMode.RELATIVE, 0.5), row(SizeMode.RELATIVE, 0.5, -1, 100));
+        double[] contentSizes = {0, 25, 0, 0};
+        double   fixedSize    = TableLayoutSolver.computeFixedSize(rows, contentSizes);
+        assertEquals(80, fixedSize, DELTA);
+
+        double[] sizes = TableLayoutSolver.solve(rows, contentSizes, 300, null);
+        for (double availableSize : new double[]{80, 200, 300, 1000})
+        {
+            TableLayoutSolver.redistribute(rows, fixedSize, availableSize, sizes);
+            assertArrayEquals(TableLayoutSolver.solve(rows, contentSizes, availableSize, null), sizes, DELTA);
+        }
+    }
+
+    @Test
+    public void offsetsArePrefixSums()
+    {
+        assertArrayEquals(new double[]{5, 15, 35, 65}, TableLayoutSolver.calculateOffsets(new double[]{10, 20, 30}, 5, null), DELTA);
+    }
+}
@@ -0,0 +1,49 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.layout.Region;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TablePaneBatchTest
+{
+    @Test
+    public void layoutWhileOpenKeepsTheContent()
+    {
+        TablePane pane = new TablePane();
+        pane.addColumn(new TablePaneColumn(SizeMode.ABSOLUTE, 50));
+        TablePaneBatch batch = pane.beginBatch();
+        batch.addRow(new TablePaneRow(SizeMode.ABSOLUTE, 50));
+        batch.add(new Region(), 0, 0, 1, 1);
+        pane.resize(50, 50);
+        pane.layout();
+        batch.close();
+        pane.layout();
+        assertEquals(1, pane.getRowList().size());
+        assertEquals(1, pane.getChildren().size());
+        assertEquals(50, ((Region) pane.getChildren().get(0)).getHeight(), 0);
+    }
+
+    @Test
+    public void nextBatchAbandonsALeakedBatch()
+    {
+        TablePane      pane   = new TablePane();
+        TablePaneBatch leaked = pane.beginBatch();
+        leaked.add(new Region(), 0, 0, 1, 1);
+        try (TablePaneBatch batch = pane.beginBatch())
+        {
+            batch.add(new Region(), 0, 0, 1, 1);
+        }
+        assertEquals(1, pane.getChildren().size());
+        try
+        {
+            leaked.close();
+            fail("An abandoned batch must not be closed.");
+        }
+        catch (IllegalStateException expected)
+        {
+            assertEquals(1, pane.getChildren().size());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.geometry.Pos;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TablePaneChildStateTest
+{
+    @Test
+    public void packedConstraintsAreUnpackedUnchanged()
+    {
+        TablePaneChildState  state       = new TablePaneChildState();
+        TablePaneConstraints constraints = new TablePaneConstraints(3, 7, 2, 4, 1, -2, 300, -32768, FillMode.HORIZONTAL, Pos.BOTTOM_RIGHT);
+        state.insert(0, 1);
+        state.pack(0, constraints);
+
+        TablePaneConstraints unpacked = state.unpack(0);
+        assertEquals(3, unpacked.getColumnIndex());
+        assertEquals(7, unpacked.getRowIndex());
+        assertEquals(2, unpacked.getColumnSpan());
+        assertEquals(4, unpacked.getRowSpan());
+        assertEquals(1, unpacked.getInsetTop());
+        assertEquals(-2, unpacked.getInsetRight());
+        assertEquals(300, unpacked.getInsetBottom());
+        assertEquals(-32768, unpacked.getInsetLeft());
+        assertEquals(FillMode.HORIZONTAL, unpacked.getFillMode());
+        assertEquals(Pos.BOTTOM_RIGHT, unpacked.getAnchor());
+    }
+
+    @Test
+    public void onlyChildrenWithASpanOfOneHaveContentTracks()
+    {
+        TablePaneChildState state = new TablePaneChildState();
+        state.insert(0, 2);
+        state.pack(0, 1, 2, 1, 1);
+        state.pack(1, 1, 2, 2, 1);
+        assertEquals(1, state.getContentColumn(0));
+        assertEquals(2, state.getContentRow(0));
+        assertEquals(-1, state.getContentColumn(1));
+        assertEquals(2, state.getContentRow(1));
+    }
+
+    @Test
+    public void insertAndRemoveShiftTheSlots()
+    {
+        TablePaneChildState state = new TablePaneChildState();
+        state.insert(0, 3);
+        for (int i = 0; i < 3; i++) state.pack(i, i, i, 1, 1);
+        state.insert(1, 1);
+        assertEquals(4, state.size);
+        assertEquals(-1, state.getColumn(1));
+        assertEquals(1, state.getColumn(2));
+
+        state.remove(0, 2);
+        assertEquals(2, state.size);
+        assertEquals(1, state.getColumn(0));
+        assertEquals(2, state.getColumn(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insetOutOfRangeIsRejected()
+    {
+        TablePaneChildState state = new TablePaneChildState();
+        state.insert(0, 1);
+        state.pack(0, new TablePaneConstraints(0, 0, 1, 1, 40_000, 0, 0, 0, FillMode.BOTH, Pos.CENTER));
+    }
+}
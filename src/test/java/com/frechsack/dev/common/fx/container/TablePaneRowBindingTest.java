@@ -0,0 +1,59 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TablePaneRowBindingTest
+{
+    private static final TablePaneRowFactory<Integer> FACTORY = new TablePaneRowFactory<>()
+    {
+        @Override
+        public TablePaneDefinition createRow(Integer item)
+        {
+            return new TablePaneRow(SizeMode.ABSOLUTE, 10);
+        }
+
+        @Override
+        public Node createCell(Integer item, int columnIndex)
+        {
+            Region cell = new Region();
+            cell.setUserData(item);
+            return cell;
+        }
+
+        @Override
+        public void updateCell(Node cell, Integer item, int columnIndex)
+        {
+        }
+    };
+
+    @Test
+    public void removeAddChurnRecyclesRowIndices()
+    {
+        TablePane pane = new TablePane();
+        pane.addColumn(new TablePaneColumn(SizeMode.ABSOLUTE, 20));
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; i++) items.add(i);
+        pane.bindRows(items, Function.identity(), FACTORY);
+        pane.resize(20, 1000);
+        pane.layout();
+
+        for (int i = 100; i < 10_100; i++)
+        {
+            items.remove(0);
+            items.add(i);
+        }
+        for (int position = 0; position < 100; position++) assertTrue(pane.getRowIndex(position) < 200);
+
+        pane.layout();
+        for (Node cell : pane.getChildren()) assertEquals(items.indexOf((Integer) cell.getUserData()) * 10d, cell.getLayoutY(), 0);
+    }
+}
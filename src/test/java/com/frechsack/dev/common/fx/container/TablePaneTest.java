@@ -0,0 +1,79 @@
+package com.frechsack.dev.common.fx.container;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TablePaneTest
+{
+    private static TablePane createRows(int rowCount)
+    {
+        TablePane pane = new TablePane();
+        pane.addColumn(new TablePaneColumn(SizeMode.ABSOLUTE, 50));
+        addRows(pane, rowCount);
+        pane.resize(50, 50 * rowCount);
+        return pane;
+    }
+
+    private static void addRows(TablePane pane, int rowCount)
+    {
+        for (int row = 0; row < rowCount; row++)
+        {
+            pane.addRow(new TablePaneRow(SizeMode.ABSOLUTE, 50));
+            pane.add(new Region(), 0, row, 1, 1);
+        }
+    }
+
+    private static void assertStacked(TablePane pane)
+    {
+        for (int i = 0; i < pane.getChildren().size(); i++)
+        {
+            Node child = pane.getChildren().get(i);
+            assertEquals(50d * i, child.getLayoutY(), 0);
+            assertEquals(50d, ((Region) child).getHeight(), 0);
+        }
+    }
+
+    @Test
+    public void clearThenRegrowPlacesChildrenInTheirRows()
+    {
+        TablePane pane = createRows(4);
+        pane.layout();
+        pane.getChildren().clear();
+        pane.getRowList().clear();
+        pane.layout();
+        addRows(pane, 4);
+        pane.layout();
+        assertStacked(pane);
+    }
+
+    @Test
+    public void shrinkThenRegrowPlacesChildrenInTheirRows()
+    {
+        TablePane pane = createRows(4);
+        pane.layout();
+        pane.getRowList().subList(2, 4).clear();
+        pane.layout();
+        pane.addRow(new TablePaneRow(SizeMode.ABSOLUTE, 50));
+        pane.addRow(new TablePaneRow(SizeMode.ABSOLUTE, 50));
+        pane.layout();
+        assertStacked(pane);
+    }
+
+    @Test
+    public void insertRemoveChurnKeepsIndicesBounded()
+    {
+        TablePane pane = createRows(4);
+        pane.layout();
+        for (int i = 0; i < 1_000; i++)
+        {
+            assertEquals(4, pane.insertRow(0, new TablePaneRow(SizeMode.ABSOLUTE, 50)));
+            pane.layout();
+            pane.removeRow(0);
+            pane.layout();
+        }
+        assertStacked(pane);
+    }
+}
@@ -0,0 +1,121 @@
+package com.frechsack.dev.common.fx.container;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TablePaneTrackMapTest
+{
+    @Test
+    public void appendedTracksUseTheirPositionAsIndex()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(4);
+        for (int position = 0; position < 4; position++) assertEquals(position, map.toTrack(position));
+        assertEquals(4, map.getLogicalCount());
+    }
+
+    @Test
+    public void shrinkThenRegrowReusesThePositions()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(4);
+        map.synchronize(0);
+        assertEquals(0, map.toPosition(2));
+        map.synchronize(4);
+        for (int position = 0; position < 4; position++) assertEquals(position, map.toTrack(position));
+        assertEquals(4, map.getLogicalCount());
+
+        map.synchronize(2);
+        map.synchronize(3);
+        assertEquals(2, map.toTrack(2));
+        assertEquals(3, map.toPosition(3));
+    }
+
+    @Test
+    public void regrowSkipsIndicesOfOtherTracks()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(2);
+        // The inserted track gets index 2, so the appended track can not use its position.
+        assertEquals(2, map.insert(0));
+        map.synchronize(4);
+        assertEquals(3, map.toTrack(3));
+        assertEquals(2, map.toTrack(0));
+        assertEquals(4, map.getLogicalCount());
+    }
+
+    @Test
+    public void removedIndexIsRecycledWhenUnreferenced()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(3);
+        assertEquals(0, map.remove(0));
+        assertTrue(map.hasReleased());
+        assertTrue(map.isReleased(0));
+
+        BitSet referenced = new BitSet();
+        referenced.set(0);
+        map.recycle(referenced);
+        assertEquals(3, map.insert(0));
+
+        map.remove(0);
+        map.recycle(new BitSet());
+        assertFalse(map.hasReleased());
+        assertEquals(0, map.insert(0));
+    }
+
+    @Test
+    public void insertRemoveChurnKeepsIndicesBounded()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(100);
+        for (int i = 0; i < 10_000; i++)
+        {
+            map.remove(0);
+            map.recycle(new BitSet());
+            map.insert(map.size());
+        }
+        assertEquals(100, map.size());
+        assertEquals(100, map.getLogicalCount());
+    }
+
+    @Test
+    public void insertedRangeReusesRecycledIndices()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(4);
+        BitSet removed = new BitSet();
+        removed.set(1, 3);
+        map.remove(removed);
+        assertFalse(map.shouldRecycle());
+        map.recycle(new BitSet());
+        map.insert(0, 3);
+        assertEquals(1, map.toTrack(0));
+        assertEquals(2, map.toTrack(1));
+        assertEquals(4, map.toTrack(2));
+        assertEquals(5, map.getLogicalCount());
+    }
+
+    @Test
+    public void shouldRecycleOnceReleasedIndicesOutnumberTracks()
+    {
+        TablePaneTrackMap map = new TablePaneTrackMap();
+        map.synchronize(2);
+        for (int i = 0; i < 2; i++)
+        {
+            map.remove(0);
+            map.insert(0);
+        }
+        assertFalse(map.shouldRecycle());
+        map.remove(0);
+        map.insert(0);
+        assertTrue(map.shouldRecycle());
+        map.recycle(new BitSet());
+        assertFalse(map.shouldRecycle());
+    }
+}